@@ -0,0 +1,89 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.data.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Represents a {@link DataFormat} that stores data in a compact binary
+ * layout, where every view, list and value is prefixed with its length in
+ * bytes. This allows data to be read as a lazy view over a
+ * {@link ByteBuffer}, skipping over entries that are never accessed.
+ */
+public interface BinaryDataFormat extends DataFormat {
+
+    /**
+     * Creates a read-only {@link DataView} over the contents of the given
+     * {@link ByteBuffer}, without copying them.
+     *
+     * <p>Only the keys of the root view are read upfront. Values, child
+     * views and lists are decoded when they are first reached through
+     * {@link DataView#get(DataQuery)} and its companions, such that the cost
+     * of reading is only paid for the entries that are accessed. Attempts to
+     * modify the view throw an {@link UnsupportedOperationException}, use
+     * {@link DataView#copy()} to obtain a mutable copy.</p>
+     *
+     * <p>The buffer must not be modified while the view is in use.</p>
+     *
+     * @param buffer The buffer to read from, from its position to its limit
+     * @return A read-only view of the contents of the buffer
+     * @throws InvalidDataFormatException If the data in the buffer was not
+     *         a supported format
+     */
+    DataView view(ByteBuffer buffer) throws InvalidDataFormatException;
+
+    /**
+     * Creates a read-only {@link DataView} over the contents of the file
+     * at the given {@link Path}, which is memory-mapped rather than read
+     * into memory.
+     *
+     * @param path The path of the file
+     * @return A read-only view of the contents of the file
+     * @throws InvalidDataFormatException If the data in the file was not
+     *         a supported format
+     * @throws IOException If there was an error mapping the file
+     * @see #view(ByteBuffer)
+     */
+    default DataView view(final Path path) throws InvalidDataFormatException, IOException {
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return this.view(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Serializes the given {@link DataView} to a new {@link ByteBuffer} using
+     * the format specified by this {@link DataFormat}.
+     *
+     * @param data The DataView to write
+     * @return The serialized data view, ready to be read
+     * @throws IOException If there was an error serializing the data
+     */
+    ByteBuffer write(DataView data) throws IOException;
+
+}
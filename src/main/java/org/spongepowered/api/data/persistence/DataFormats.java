@@ -44,6 +44,8 @@ public final class DataFormats {
 
     // SORTFIELDS:ON
 
+    public static final DefaultedRegistryReference<BinaryDataFormat> BINARY = DataFormats.binaryKey(ResourceKey.sponge("binary"));
+
     public static final DefaultedRegistryReference<StringDataFormat> HOCON = DataFormats.stringKey(ResourceKey.sponge("hocon"));
 
     public static final DefaultedRegistryReference<StringDataFormat> JSON = DataFormats.stringKey(ResourceKey.sponge("json"));
@@ -63,6 +65,10 @@ public static Registry<DataFormat> registry() {
         return Sponge.game().registry(RegistryTypes.DATA_FORMAT);
     }
 
+    private static DefaultedRegistryReference<BinaryDataFormat> binaryKey(final ResourceKey location) {
+        return RegistryKey.of(RegistryTypes.DATA_FORMAT, location).asDefaultedReference(Sponge::game);
+    }
+
     private static DefaultedRegistryReference<StringDataFormat> stringKey(final ResourceKey location) {
         return RegistryKey.of(RegistryTypes.DATA_FORMAT, location).asDefaultedReference(Sponge::game);
     }
@@ -25,62 +25,66 @@
 package org.spongepowered.api.data.persistence;
 
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Spliterator;
 import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * Represents a query that can be done on views. Queries do not depend on
  * their separator, it is just a way to construct them.
+ *
+ * <p>Queries are interned into a tree, where each query refers to the query
+ * of its parent path. Equal queries that are in use at the same time are the
+ * same instance, such that {@link #then(String)}, {@link #pop()} and
+ * {@link #last()} neither copy the parts of the query nor allocate once the
+ * resulting query has been created before.</p>
  */
 public final class DataQuery implements Iterable<String> {
 
-    private static final DataQuery EMPTY = new DataQuery();
+    private static final ReferenceQueue<DataQuery> COLLECTED = new ReferenceQueue<>();
+    private static final DataQuery EMPTY = new DataQuery(null, null);
 
     /**
-     * The parts that make up this query.
+     * The query this query is a child of, or {@code null} for the empty query.
      */
-    private final List<String> parts;
-
-    private @MonotonicNonNull List<DataQuery> queryParts; //lazy loaded
+    private final @Nullable DataQuery parent;
 
     /**
-     * Constructs a query using the given separator character and path.
-     *
-     * <p>As an example, {@code new DataQuery('/', "a/b/c")} and
-     * {@code new DataQuery('.', "a.b.c")} represent the same path but are
-     * constructed using different separators.</p>
-     *
-     * @param separator The separator
-     * @param path The path
+     * The last part of this query, or {@code null} for the empty query.
      */
-    private DataQuery(final char separator, final String path) {
-        this(path.split(Pattern.quote(String.valueOf(separator))));
-    }
+    private final @Nullable String name;
 
-    /**
-     * Constructs a query using the given parts.
-     *
-     * @param parts The parts
-     */
-    private DataQuery(final String... parts) {
-        this.parts = List.of(parts);
-    }
+    private final int size;
+    private final int hash;
 
     /**
-     * Constructs a query using the given parts.
-     *
-     * @param parts The parts
+     * The interned children of this query, keyed by their last part.
      */
-    private DataQuery(final List<String> parts) {
-        this.parts = List.copyOf(parts);
+    private volatile @MonotonicNonNull ConcurrentHashMap<String, ChildReference> children;
+
+    private @MonotonicNonNull List<String> parts; //lazy loaded
+    private @MonotonicNonNull List<DataQuery> queryParts; //lazy loaded
+    private @MonotonicNonNull DataQuery withoutFirst; //lazy loaded
+
+    private DataQuery(final @Nullable DataQuery parent, final @Nullable String name) {
+        this.parent = parent;
+        this.name = name;
+        if (parent == null) {
+            this.size = 0;
+            this.hash = 1;
+        } else {
+            this.size = parent.size + 1;
+            this.hash = 31 * parent.hash + Objects.requireNonNull(name, "name").hashCode();
+        }
     }
 
     /**
@@ -106,7 +110,31 @@ public static DataQuery of() {
      * @return The newly constructed {@link DataQuery}
      */
     public static DataQuery of(final char separator, final String path) {
-        return new DataQuery(separator, path);
+        Objects.requireNonNull(path, "path");
+        // Follows the semantics of String#split, trailing empty parts are dropped
+        DataQuery query = DataQuery.EMPTY;
+        int emptyParts = 0;
+        int start = 0;
+        int end = path.indexOf(separator);
+        if (end == -1) {
+            return query.then(path);
+        }
+        while (start <= path.length()) {
+            if (end == -1) {
+                end = path.length();
+            }
+            if (end == start) {
+                emptyParts++;
+            } else {
+                for (; emptyParts > 0; emptyParts--) {
+                    query = query.then("");
+                }
+                query = query.then(path.substring(start, end));
+            }
+            start = end + 1;
+            end = path.indexOf(separator, start);
+        }
+        return query;
     }
 
     /**
@@ -116,10 +144,11 @@ public static DataQuery of(final char separator, final String path) {
      * @return The newly constructed {@link DataQuery}
      */
     public static DataQuery of(final String... parts) {
-        if (parts.length == 0) {
-            return DataQuery.EMPTY;
+        DataQuery query = DataQuery.EMPTY;
+        for (final String part : parts) {
+            query = query.then(part);
         }
-        return new DataQuery(parts);
+        return query;
     }
 
     /**
@@ -129,10 +158,11 @@ public static DataQuery of(final String... parts) {
      * @return The newly constructed {@link DataQuery}
      */
     public static DataQuery of(final List<String> parts) {
-        if (parts.isEmpty()) {
-            return DataQuery.EMPTY;
+        DataQuery query = DataQuery.EMPTY;
+        for (final String part : parts) {
+            query = query.then(part);
         }
-        return new DataQuery(parts);
+        return query;
     }
 
     /**
@@ -141,6 +171,13 @@ public static DataQuery of(final List<String> parts) {
      * @return The parts of this query
      */
     public List<String> parts() {
+        if (this.parts == null) {
+            final String[] parts = new String[this.size];
+            for (DataQuery query = this; query.parent != null; query = query.parent) {
+                parts[query.size - 1] = query.name;
+            }
+            this.parts = List.of(parts);
+        }
         return this.parts;
     }
 
@@ -152,8 +189,14 @@ public List<String> parts() {
      * @return The constructed query
      */
     public DataQuery then(final DataQuery that) {
-        final var parts = Stream.concat(this.parts.stream(), that.parts.stream()).collect(Collectors.toUnmodifiableList());
-        return new DataQuery(parts);
+        if (this.size == 0) {
+            return that;
+        }
+        DataQuery query = this;
+        for (final String part : that.parts()) {
+            query = query.then(part);
+        }
+        return query;
     }
 
     /**
@@ -164,8 +207,31 @@ public DataQuery then(final DataQuery that) {
      * @return The constructed query
      */
     public DataQuery then(final String that) {
-        final var parts = Stream.concat(this.parts.stream(), Stream.of(that)).collect(Collectors.toUnmodifiableList());
-        return new DataQuery(parts);
+        Objects.requireNonNull(that, "that");
+        DataQuery.expungeCollected();
+        ConcurrentHashMap<String, ChildReference> children = this.children;
+        if (children == null) {
+            synchronized (this) {
+                children = this.children;
+                if (children == null) {
+                    this.children = children = new ConcurrentHashMap<>();
+                }
+            }
+        }
+        while (true) {
+            final @Nullable ChildReference existing = children.get(that);
+            if (existing != null) {
+                final @Nullable DataQuery child = existing.get();
+                if (child != null) {
+                    return child;
+                }
+            }
+            final DataQuery child = new DataQuery(this, that);
+            final ChildReference reference = new ChildReference(child, children);
+            if (existing == null ? children.putIfAbsent(that, reference) == null : children.replace(that, existing, reference)) {
+                return child;
+            }
+        }
     }
 
     /**
@@ -176,7 +242,11 @@ public DataQuery then(final String that) {
      */
     public List<DataQuery> queryParts() {
         if (this.queryParts == null) {
-            this.queryParts = this.parts().stream().map(DataQuery::new).collect(Collectors.toUnmodifiableList());
+            final DataQuery[] queryParts = new DataQuery[this.size];
+            for (DataQuery query = this; query.parent != null; query = query.parent) {
+                queryParts[query.size - 1] = query.last();
+            }
+            this.queryParts = List.of(queryParts);
         }
         return this.queryParts;
     }
@@ -189,11 +259,7 @@ public List<DataQuery> queryParts() {
      * @return The next level query
      */
     public DataQuery pop() {
-        if (this.parts.size() <= 1) {
-            return DataQuery.of();
-        }
-        final var parts = this.parts.stream().limit(this.parts.size() - 1L).collect(Collectors.toUnmodifiableList());
-        return new DataQuery(parts);
+        return this.parent == null ? this : this.parent;
     }
 
     /**
@@ -204,11 +270,13 @@ public DataQuery pop() {
      * @return The next level query
      */
     public DataQuery popFirst() {
-        if (this.parts.size() <= 1) {
-            return DataQuery.of();
+        if (this.size <= 1) {
+            return DataQuery.EMPTY;
         }
-        final var parts = this.parts.stream().skip(1L).collect(Collectors.toUnmodifiableList());
-        return new DataQuery(parts);
+        if (this.withoutFirst == null) {
+            this.withoutFirst = this.parent.popFirst().then(this.name);
+        }
+        return this.withoutFirst;
     }
 
     /**
@@ -218,10 +286,10 @@ public DataQuery popFirst() {
      * @return The last entry as a data query, if not already last
      */
     public DataQuery last() {
-        if (this.parts.size() <= 1) {
+        if (this.size <= 1) {
             return this;
         }
-        return new DataQuery(this.parts.get(this.parts.size() - 1));
+        return DataQuery.EMPTY.then(this.name);
     }
 
     /**
@@ -232,7 +300,7 @@ public DataQuery last() {
      */
     public String asString(final String separator) {
         final StringJoiner stringJoiner = new StringJoiner(separator);
-        this.parts.forEach(stringJoiner::add);
+        this.parts().forEach(stringJoiner::add);
         return stringJoiner.toString();
     }
 
@@ -253,7 +321,7 @@ public String toString() {
 
     @Override
     public int hashCode() {
-        return Objects.hash(this.parts);
+        return this.hash;
     }
 
     @Override
@@ -264,23 +332,62 @@ public boolean equals(final Object obj) {
         if (obj == null || this.getClass() != obj.getClass()) {
             return false;
         }
-        final DataQuery other = (DataQuery) obj;
-        return Objects.equals(this.parts, other.parts);
+        DataQuery query = this;
+        DataQuery other = (DataQuery) obj;
+        if (query.hash != other.hash || query.size != other.size) {
+            return false;
+        }
+        // Interned queries share their parents, so this usually ends at the first part
+        while (query != other) {
+            if (!query.name.equals(other.name)) {
+                return false;
+            }
+            query = query.parent;
+            other = other.parent;
+        }
+        return true;
     }
 
     @Override
     public Iterator<String> iterator() {
-        return this.parts.iterator();
+        return this.parts().iterator();
     }
 
     @Override
     public void forEach(final Consumer<? super String> action) {
-        this.parts.forEach(action);
+        this.parts().forEach(action);
     }
 
     @Override
     public Spliterator<String> spliterator() {
-        return this.parts.spliterator();
+        return this.parts().spliterator();
+    }
+
+    private static void expungeCollected() {
+        @Nullable Reference<? extends DataQuery> collected;
+        while ((collected = DataQuery.COLLECTED.poll()) != null) {
+            ((ChildReference) collected).expunge();
+        }
+    }
+
+    /**
+     * A weak reference to an interned child query, which removes itself from
+     * the children of its parent once the child has been collected.
+     */
+    private static final class ChildReference extends WeakReference<DataQuery> {
+
+        private final String name;
+        private final ConcurrentHashMap<String, ChildReference> siblings;
+
+        ChildReference(final DataQuery child, final ConcurrentHashMap<String, ChildReference> siblings) {
+            super(child, DataQuery.COLLECTED);
+            this.name = Objects.requireNonNull(child.name);
+            this.siblings = siblings;
+        }
+
+        void expunge() {
+            this.siblings.remove(this.name, this);
+        }
     }
 
 }
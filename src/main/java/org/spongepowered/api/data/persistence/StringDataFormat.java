@@ -26,6 +26,7 @@
 
 import java.io.IOException;
 import java.io.Reader;
+import java.io.StringWriter;
 import java.io.Writer;
 
 /**
@@ -57,6 +58,51 @@ public interface StringDataFormat extends DataFormat {
      */
     DataContainer readFrom(Reader input) throws InvalidDataException, IOException;
 
+    /**
+     * Creates a new {@link DataContainer} from the contents of the given
+     * {@link String}, where only the structure of the root view is parsed
+     * upfront.
+     *
+     * <p>Child views and lists are only tokenised when they are first
+     * accessed, such as through {@link DataView#getView(DataQuery)} or
+     * {@link DataView#getList(DataQuery)}, and are parsed at most once.
+     * This is beneficial for large documents of which only a few paths are
+     * read. As the document is validated as it is accessed, an
+     * {@link InvalidDataException} may be thrown on the first access of a
+     * malformed child, rather than by this method.</p>
+     *
+     * <p>Formats that do not support lazy parsing parse the entire document
+     * eagerly, as with {@link #read(String)}.</p>
+     *
+     * @param input The string to parse
+     * @return A data container representing the contents of the string
+     * @throws InvalidDataException If the root of the string was not a
+     *         supported format
+     * @throws IOException If there was an error reading from the string
+     */
+    default DataContainer readLazily(final String input) throws InvalidDataException, IOException {
+        return this.read(input);
+    }
+
+    /**
+     * Creates a new {@link DataContainer} from the contents of the given
+     * {@link Reader}, where only the structure of the root view is parsed
+     * upfront. The contents of the reader are read in full, as the
+     * unparsed children of the root view are retained as text.
+     *
+     * @param input The reader
+     * @return A data container representing the contents of the reader
+     * @throws InvalidDataException If the root of the reader was not a
+     *         supported format
+     * @throws IOException If there was an error reading from the reader
+     * @see #readLazily(String)
+     */
+    default DataContainer readLazily(final Reader input) throws InvalidDataException, IOException {
+        final StringWriter writer = new StringWriter();
+        input.transferTo(writer);
+        return this.readLazily(writer.toString());
+    }
+
     /**
      * Serializes the given {@link DataView} to a {@link String} using
      * the format specified by this {@link DataFormat}.
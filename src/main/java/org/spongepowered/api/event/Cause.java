@@ -119,36 +119,16 @@ public static Cause of(final EventContext ctx, final Iterable<Object> iterable)
     @Nullable private List<Object> immutableCauses;
 
     /**
-     * Constructs a new cause.
+     * Constructs a new cause which takes ownership of the given array,
+     * without copying it. The elements must already be checked to be
+     * non-null, and the array must not be modified afterwards.
      *
      * @param ctx The event context
      * @param causes The causes
      */
     Cause(final EventContext ctx, final Object[] causes) {
-        java.util.Objects.requireNonNull(ctx, "Context");
-        final Object[] objects = new Object[causes.length];
-        for (int index = 0; index < causes.length; index++) {
-            objects[index] = java.util.Objects.requireNonNull(causes[index], "Null cause element!");
-        }
-        this.cause = objects;
-        this.context = ctx;
-    }
-
-    /**
-     * Constructs a new cause.
-     *
-     * @param ctx The event context
-     * @param causes The causes
-     */
-    Cause(final EventContext ctx, final Collection<Object> causes) {
-        java.util.Objects.requireNonNull(ctx, "Context");
-        final Object[] objects = new Object[causes.size()];
-        int index = 0;
-        for (final Object cause : causes) {
-            objects[index++] = java.util.Objects.requireNonNull(cause, "Null cause element!");
-        }
-        this.cause = objects;
-        this.context = ctx;
+        this.cause = causes;
+        this.context = java.util.Objects.requireNonNull(ctx, "Context");
     }
 
     /**
@@ -495,7 +475,8 @@ public Cause build() {
             if (this.causes.isEmpty()) {
                 throw new IllegalStateException("Cannot create an empty Cause!");
             }
-            return new Cause(EventContext.empty(), this.causes);
+            // The causes are checked as they are added to the builder
+            return new Cause(EventContext.empty(), this.causes.toArray());
         }
 
         /**
@@ -508,7 +489,7 @@ public Cause build(final EventContext ctx) {
             if (this.causes.isEmpty()) {
                 throw new IllegalStateException("Cannot create an empty Cause!");
             }
-            return new Cause(ctx, this.causes);
+            return new Cause(ctx, this.causes.toArray());
         }
     }
 
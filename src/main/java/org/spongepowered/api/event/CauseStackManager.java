@@ -47,6 +47,10 @@ public interface CauseStackManager {
     /**
      * Gets the current {@link Cause} object from the current cause stack.
      *
+     * <p>The built cause is cached, such that repeated calls return the same
+     * instance until the stack is modified by pushing or popping a cause or
+     * frame, or by adding or removing context.</p>
+     *
      * @return A cause of the current stack.
      */
     Cause currentCause();
@@ -55,6 +59,10 @@ public interface CauseStackManager {
      * Gets an {@link EventContext} object on the current contextual
      * information.
      *
+     * <p>The built context is cached, such that repeated calls return the
+     * same instance until context is added or removed, or a frame is
+     * popped.</p>
+     *
      * @return The current event context
      */
     EventContext currentContext();
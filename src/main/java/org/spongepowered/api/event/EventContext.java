@@ -40,11 +40,20 @@
 /**
  * Provides context for an event outside of the direct chain of causes present
  * in the event's {@link Cause}.
+ *
+ * <p>The entries of a context are held in a pair of arrays, as contexts
+ * rarely hold more than a handful of entries. Small contexts are searched
+ * linearly, while larger contexts lazily build a {@link Map} index.</p>
  */
 @DoNotStore
 public final class EventContext {
 
-    private static final EventContext EMPTY_CONTEXT = new EventContext(Map.of());
+    /**
+     * The number of entries up to which keys are searched linearly.
+     */
+    private static final int LINEAR_SEARCH_LIMIT = 8;
+    private static final EventContextKey<?>[] NO_KEYS = new EventContextKey<?>[0];
+    private static final EventContext EMPTY_CONTEXT = new EventContext(EventContext.NO_KEYS, new Object[0]);
 
     /**
      * Gets an empty context.
@@ -78,10 +87,37 @@ public static Builder builder() {
         return new Builder();
     }
 
-    private final Map<EventContextKey<?>, Object> entries;
+    private final EventContextKey<?>[] keys;
+    private final Object[] values;
 
-    EventContext(Map<EventContextKey<?>, Object> values) {
-        this.entries = Map.copyOf(values);
+    // lazy load
+    private @Nullable Map<EventContextKey<?>, Object> entries;
+
+    EventContext(final Map<EventContextKey<?>, Object> values) {
+        this.keys = new EventContextKey<?>[values.size()];
+        this.values = new Object[values.size()];
+        int index = 0;
+        for (final Map.Entry<EventContextKey<?>, Object> entry : values.entrySet()) {
+            this.keys[index] = Objects.requireNonNull(entry.getKey(), "Entries cannot contain null keys");
+            this.values[index++] = Objects.requireNonNull(entry.getValue(), "Entries cannot contain null values");
+        }
+    }
+
+    private EventContext(final EventContextKey<?>[] keys, final Object[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    private @Nullable Object value(final EventContextKey<?> key) {
+        if (this.keys.length > EventContext.LINEAR_SEARCH_LIMIT) {
+            return this.asMap().get(key);
+        }
+        for (int index = 0; index < this.keys.length; index++) {
+            if (this.keys[index].equals(key)) {
+                return this.values[index];
+            }
+        }
+        return null;
     }
 
     /**
@@ -94,7 +130,7 @@ public static Builder builder() {
     @SuppressWarnings("unchecked")
     public <T> Optional<T> get(EventContextKey<T> key) {
         Objects.requireNonNull(key, "EventContextKey cannot be null");
-        return Optional.ofNullable((T) this.entries.get(key));
+        return Optional.ofNullable((T) this.value(key));
     }
 
     /**
@@ -107,7 +143,7 @@ public <T> Optional<T> get(EventContextKey<T> key) {
     @SuppressWarnings("unchecked")
     public <T> Optional<T> get(Supplier<EventContextKey<T>> key) {
         Objects.requireNonNull(key, "EventContextKey cannot be null");
-        return Optional.ofNullable((T) this.entries.get(key.get()));
+        return Optional.ofNullable((T) this.value(key.get()));
     }
 
     /**
@@ -154,7 +190,7 @@ public <T> T require(Supplier<EventContextKey<T>> key) {
      * @return True if the key is used and there is an entry for it
      */
     public boolean containsKey(EventContextKey<?> key) {
-        return this.entries.containsKey(key);
+        return this.value(key) != null;
     }
 
     /**
@@ -165,7 +201,7 @@ public boolean containsKey(EventContextKey<?> key) {
      * @return True if the key is used and there is an entry for it
      */
     public boolean containsKey(Supplier<? extends EventContextKey<?>> key) {
-        return this.entries.containsKey(key.get());
+        return this.value(key.get()) != null;
     }
 
     /**
@@ -174,7 +210,7 @@ public boolean containsKey(Supplier<? extends EventContextKey<?>> key) {
      * @return All present keys
      */
     public Set<EventContextKey<?>> keySet() {
-        return this.entries.keySet();
+        return this.asMap().keySet();
     }
 
     /**
@@ -183,6 +219,13 @@ public Set<EventContextKey<?>> keySet() {
      * @return A map view of this context
      */
     public Map<EventContextKey<?>, Object> asMap() {
+        if (this.entries == null) {
+            final Map<EventContextKey<?>, Object> entries = new HashMap<>();
+            for (int index = 0; index < this.keys.length; index++) {
+                entries.put(this.keys[index], this.values[index]);
+            }
+            this.entries = Map.copyOf(entries);
+        }
         return this.entries;
     }
 
@@ -195,12 +238,12 @@ public boolean equals(@Nullable Object object) {
             return false;
         }
         final EventContext ctx = (EventContext) object;
-        for (Map.Entry<EventContextKey<?>, Object> entry : this.entries.entrySet()) {
-            final Object other = ctx.entries.get(entry.getKey());
+        for (int index = 0; index < this.keys.length; index++) {
+            final @Nullable Object other = ctx.value(this.keys[index]);
             if (other == null) {
                 return false;
             }
-            if (!entry.getValue().equals(other)) {
+            if (!this.values[index].equals(other)) {
                 return false;
             }
         }
@@ -209,14 +252,19 @@ public boolean equals(@Nullable Object object) {
 
     @Override
     public int hashCode() {
-        return this.entries.hashCode();
+        // Consistent with Map#hashCode
+        int hash = 0;
+        for (int index = 0; index < this.keys.length; index++) {
+            hash += this.keys[index].hashCode() ^ this.values[index].hashCode();
+        }
+        return hash;
     }
 
     @Override
     public String toString() {
         final StringJoiner joiner = new StringJoiner(", ");
-        for (Map.Entry<EventContextKey<?>, Object> entry : this.entries.entrySet()) {
-            joiner.add("\"" + entry.getKey().toString() + "\"=" + entry.getValue().toString());
+        for (int index = 0; index < this.keys.length; index++) {
+            joiner.add("\"" + this.keys[index].toString() + "\"=" + this.values[index].toString());
         }
         return "Context[" + joiner.toString() + "]";
     }
@@ -269,7 +317,9 @@ public <T> Builder add(Supplier<EventContextKey<T>> key, T value) {
 
         @Override
         public Builder from(EventContext value) {
-            this.entries.putAll(value.entries);
+            for (int index = 0; index < value.keys.length; index++) {
+                this.entries.put(value.keys[index], value.values[index]);
+            }
             return this;
         }
 
@@ -286,6 +336,9 @@ public Builder reset() {
          */
         @Override
         public EventContext build() {
+            if (this.entries.isEmpty()) {
+                return EventContext.EMPTY_CONTEXT;
+            }
             return new EventContext(this.entries);
         }
 
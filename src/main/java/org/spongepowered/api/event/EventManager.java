@@ -30,6 +30,14 @@
 
 /**
  * Manages the registration of event listeners and the dispatching of events.
+ *
+ * <p>Listeners are resolved when they are registered rather than when an
+ * event is posted. For every concrete event class, the listeners that can
+ * receive it are compiled into a single dispatcher, in which the parameter
+ * filters of {@link org.spongepowered.api.event.filter} annotations are
+ * resolved and listeners that can never match the class are omitted. The
+ * dispatchers are rebuilt when listeners are registered or unregistered, and
+ * never while an event is being posted.</p>
  */
 public interface EventManager {
 
@@ -81,9 +89,24 @@ public interface EventManager {
      */
     EventManager unregisterListeners(Object obj);
 
+    /**
+     * Gets whether any listener is registered that would receive an event of
+     * the given class. This can be used to skip creating an event, and the
+     * cause of the event, when nothing is listening to it.
+     *
+     * @param eventClass The concrete event class
+     * @return True if any listener may receive the event
+     */
+    default boolean hasListeners(final Class<? extends Event> eventClass) {
+        return true;
+    }
+
     /**
      * Calls an {@link Event} to all listeners that listen to it.
      *
+     * <p>If no listener is registered for the class of the event, this returns
+     * immediately, see {@link #hasListeners(Class)}.</p>
+     *
      * @param event The event
      * @return True if cancelled, false if not
      */
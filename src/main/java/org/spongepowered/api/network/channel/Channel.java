@@ -25,6 +25,7 @@
 package org.spongepowered.api.network.channel;
 
 import org.spongepowered.api.ResourceKey;
+import org.spongepowered.api.network.EngineConnection;
 import org.spongepowered.api.network.EngineConnectionState;
 
 /**
@@ -56,4 +57,31 @@ public interface Channel {
      * @param handler The channel exception handler
      */
     void setExceptionHandler(ChannelExceptionHandler<EngineConnectionState> handler);
+
+    /**
+     * Gets the {@link ChannelCompression} this channel is configured with.
+     *
+     * @return The compression options
+     */
+    ChannelCompression compression();
+
+    /**
+     * Sets the {@link ChannelCompression} of this channel. This only affects
+     * connections that are negotiated after the options are changed, and
+     * should therefore be set when the channel is created.
+     *
+     * @param compression The compression options
+     */
+    void setCompression(ChannelCompression compression);
+
+    /**
+     * Gets the {@link ChannelCompression.Algorithm} that was negotiated for
+     * the given {@link EngineConnection}, this is
+     * {@link ChannelCompression.Algorithm#NONE} if either side did not
+     * enable compression, or if the negotiation did not succeed.
+     *
+     * @param connection The connection
+     * @return The negotiated compression algorithm
+     */
+    ChannelCompression.Algorithm negotiatedCompression(EngineConnection connection);
 }
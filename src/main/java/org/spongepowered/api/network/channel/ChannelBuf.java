@@ -28,11 +28,20 @@
 
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Objects;
 import java.util.UUID;
 
 /**
  * A ChannelStream allows for plugins and the server to read and write Java
  * primitive data and some higher level data to {@link DataView} if necessary.
+ *
+ * <p>Buffers obtained from the pooled allocators of the {@link ChannelManager}
+ * are reference counted. Such a buffer starts with a reference count of
+ * {@code 1}, which is increased by {@link #retain()} and decreased by
+ * {@link #release()}, and it is returned to its pool once the count reaches
+ * {@code 0}. A buffer must not be accessed after it has been released.
+ * Buffers that are not reference counted are managed by the garbage
+ * collector, and ignore retains and releases.</p>
  */
 public interface ChannelBuf {
 
@@ -141,6 +150,79 @@ public interface ChannelBuf {
      */
     ChannelBuf readSlice(int length);
 
+    /**
+     * Returns a slice of this buffer's sub-region at the current readerIndex,
+     * like {@link #readSlice(int)}, which is retained such that it remains
+     * valid after this buffer has been released. This allows the content to
+     * be handed off to another handler without copying it, in which case the
+     * receiver is responsible for {@link #release() releasing} the slice.
+     *
+     * @param length The amount of bytes in the slice
+     * @return The retained sliced stream
+     */
+    default ChannelBuf readRetainedSlice(final int length) {
+        return this.readSlice(length).retain();
+    }
+
+    /**
+     * Gets the reference count of this buffer, this is always {@code 1}
+     * for buffers that are not reference counted.
+     *
+     * @return The reference count
+     */
+    default int refCnt() {
+        return 1;
+    }
+
+    /**
+     * Increases the reference count of this buffer by {@code 1}.
+     *
+     * @return This stream for chaining
+     */
+    default ChannelBuf retain() {
+        return this.retain(1);
+    }
+
+    /**
+     * Increases the reference count of this buffer by the given increment.
+     *
+     * @param increment The increment
+     * @return This stream for chaining
+     */
+    default ChannelBuf retain(final int increment) {
+        return this;
+    }
+
+    /**
+     * Decreases the reference count of this buffer by {@code 1}, and
+     * releases the buffer if it reaches {@code 0}.
+     *
+     * @return Whether the buffer was released
+     */
+    default boolean release() {
+        return this.release(1);
+    }
+
+    /**
+     * Decreases the reference count of this buffer by the given decrement,
+     * and releases the buffer if it reaches {@code 0}.
+     *
+     * @param decrement The decrement
+     * @return Whether the buffer was released
+     */
+    default boolean release(final int decrement) {
+        return false;
+    }
+
+    /**
+     * Returns {@code true} if this buffer is backed by off-heap memory.
+     *
+     * @return Whether this buffer is direct
+     */
+    default boolean isDirect() {
+        return false;
+    }
+
     /**
      * Returns {@code true} if and only if this buffer has a backing byte array.
      *
@@ -392,6 +474,25 @@ public interface ChannelBuf {
      */
     byte[] readBytes(int index, int length);
 
+    /**
+     * Reads bytes at the current readerIndex into the given array, without
+     * allocating a new array, and increases the readerIndex by the length.
+     *
+     * @param destination The array to read into
+     * @param start The starting index of the destination array
+     * @param length The amount of bytes to read
+     * @return This stream for chaining
+     * @throws IndexOutOfBoundsException If the range is not within the
+     *     destination array
+     */
+    default ChannelBuf readBytes(final byte[] destination, final int start, final int length) {
+        Objects.checkFromIndexSize(start, length, destination.length);
+        for (int i = 0; i < length; i++) {
+            destination[start + i] = this.readByte();
+        }
+        return this;
+    }
+
     /**
      * Sets the specified short integer at the current writerIndex of this
      * buffer and increases the writerIndex by 2.
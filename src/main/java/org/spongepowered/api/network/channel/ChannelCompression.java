@@ -0,0 +1,235 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.network.channel;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.network.EngineConnection;
+import org.spongepowered.api.network.channel.raw.handshake.RawHandshakeDataChannel;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * Controls the compression of the payloads sent over a {@link Channel}.
+ *
+ * <p>Compression is negotiated per {@link EngineConnection} during the
+ * handshake phase, over the {@link RawHandshakeDataChannel} of the channel.
+ * Each side announces the {@link Algorithm} it is configured with, and a
+ * payload is only compressed if the other side announced the same algorithm
+ * and, for {@link Algorithm#DEFLATE}, the same dictionary. Payloads sent over
+ * connections that did not negotiate compression, or which are smaller than
+ * the {@link #threshold()}, are sent as they were encoded.</p>
+ */
+public final class ChannelCompression {
+
+    private static final ChannelCompression NONE = new ChannelCompression(Algorithm.NONE, Integer.MAX_VALUE, 0, null);
+
+    /**
+     * Gets the options that disable compression. This is the default.
+     *
+     * @return The disabled options
+     */
+    public static ChannelCompression none() {
+        return ChannelCompression.NONE;
+    }
+
+    /**
+     * Creates a new builder for creating {@link ChannelCompression} options.
+     *
+     * @param algorithm The compression algorithm
+     * @return The new builder
+     */
+    public static Builder builder(final Algorithm algorithm) {
+        return new Builder(algorithm);
+    }
+
+    /**
+     * The algorithms that can be used to compress payloads.
+     */
+    public enum Algorithm {
+        /**
+         * Payloads are not compressed.
+         */
+        NONE,
+        /**
+         * Payloads are compressed with deflate, optionally with a preset
+         * {@link ChannelCompression#dictionary() dictionary} of content that
+         * commonly appears in payloads of the channel. Compresses better than
+         * {@link #FAST}, at a higher cost.
+         */
+        DEFLATE,
+        /**
+         * Payloads are compressed with a fast LZ77 based algorithm, trading
+         * compression ratio for speed. Implemented in Java, such that it does
+         * not depend on native libraries.
+         */
+        FAST,
+    }
+
+    private final Algorithm algorithm;
+    private final int threshold;
+    private final int level;
+    private final byte[] dictionary;
+
+    private ChannelCompression(final Algorithm algorithm, final int threshold, final int level, final byte @Nullable [] dictionary) {
+        this.algorithm = algorithm;
+        this.threshold = threshold;
+        this.level = level;
+        this.dictionary = dictionary == null ? new byte[0] : dictionary;
+    }
+
+    public Algorithm algorithm() {
+        return this.algorithm;
+    }
+
+    /**
+     * Gets the size in bytes from which payloads are compressed.
+     *
+     * @return The threshold
+     */
+    public int threshold() {
+        return this.threshold;
+    }
+
+    /**
+     * Gets the compression level, from {@code 1} for the fastest to
+     * {@code 9} for the best compression. Only applies to
+     * {@link Algorithm#DEFLATE}.
+     *
+     * @return The compression level
+     */
+    public int level() {
+        return this.level;
+    }
+
+    /**
+     * Gets a copy of the preset dictionary. Only applies to
+     * {@link Algorithm#DEFLATE}.
+     *
+     * @return The dictionary, or an empty array if none is set
+     */
+    public byte[] dictionary() {
+        return this.dictionary.clone();
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || this.getClass() != o.getClass()) {
+            return false;
+        }
+        final ChannelCompression that = (ChannelCompression) o;
+        return this.algorithm == that.algorithm
+            && this.threshold == that.threshold
+            && this.level == that.level
+            && Arrays.equals(this.dictionary, that.dictionary);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hash(this.algorithm, this.threshold, this.level) + Arrays.hashCode(this.dictionary);
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", ChannelCompression.class.getSimpleName() + "[", "]")
+            .add("algorithm=" + this.algorithm)
+            .add("threshold=" + this.threshold)
+            .add("level=" + this.level)
+            .add("dictionary=" + this.dictionary.length + " bytes")
+            .toString();
+    }
+
+    public static final class Builder implements org.spongepowered.api.util.Builder<ChannelCompression, Builder> {
+
+        private final Algorithm algorithm;
+        private int threshold = 256;
+        private int level = 6;
+        private byte @Nullable [] dictionary;
+
+        Builder(final Algorithm algorithm) {
+            this.algorithm = Objects.requireNonNull(algorithm, "algorithm");
+        }
+
+        /**
+         * Sets the size in bytes from which payloads are compressed, defaults
+         * to {@code 256}.
+         *
+         * @param threshold The threshold
+         * @return This builder, for chaining
+         */
+        public Builder threshold(final int threshold) {
+            if (threshold < 0) {
+                throw new IllegalArgumentException("The threshold cannot be negative");
+            }
+            this.threshold = threshold;
+            return this;
+        }
+
+        /**
+         * Sets the compression level, defaults to {@code 6}.
+         *
+         * @param level The compression level, between {@code 1} and {@code 9}
+         * @return This builder, for chaining
+         */
+        public Builder level(final int level) {
+            if (level < 1 || level > 9) {
+                throw new IllegalArgumentException("The compression level must be between 1 and 9");
+            }
+            this.level = level;
+            return this;
+        }
+
+        /**
+         * Sets the preset dictionary used by {@link Algorithm#DEFLATE}.
+         *
+         * @param dictionary The dictionary
+         * @return This builder, for chaining
+         */
+        public Builder dictionary(final byte[] dictionary) {
+            this.dictionary = Objects.requireNonNull(dictionary, "dictionary").clone();
+            return this;
+        }
+
+        @Override
+        public Builder reset() {
+            this.threshold = 256;
+            this.level = 6;
+            this.dictionary = null;
+            return this;
+        }
+
+        @Override
+        public ChannelCompression build() {
+            if (this.algorithm == Algorithm.NONE) {
+                return ChannelCompression.NONE;
+            }
+            return new ChannelCompression(this.algorithm, this.threshold, this.level, this.dictionary);
+        }
+    }
+}
@@ -62,4 +62,34 @@ public interface ChannelManager {
      * @return The channels
      */
     Collection<Channel> channels();
+
+    /**
+     * Creates a new {@link ChannelBuf} on the heap, which is managed by the
+     * garbage collector and does not need to be released.
+     *
+     * @param initialCapacity The initial capacity of the buffer
+     * @return The new buffer
+     */
+    ChannelBuf buffer(int initialCapacity);
+
+    /**
+     * Obtains a {@link ChannelBuf} on the heap from a pool of buffers. The
+     * buffer is reference counted and must be {@link ChannelBuf#release()
+     * released} once it is no longer used, returning it to the pool.
+     *
+     * @param initialCapacity The initial capacity of the buffer
+     * @return The pooled buffer
+     */
+    ChannelBuf pooledBuffer(int initialCapacity);
+
+    /**
+     * Obtains a {@link ChannelBuf} backed by off-heap memory from a pool of
+     * buffers. The buffer is reference counted and must be
+     * {@link ChannelBuf#release() released} once it is no longer used, as the
+     * memory is not reclaimed by the garbage collector.
+     *
+     * @param initialCapacity The initial capacity of the buffer
+     * @return The pooled direct buffer
+     */
+    ChannelBuf pooledDirectBuffer(int initialCapacity);
 }
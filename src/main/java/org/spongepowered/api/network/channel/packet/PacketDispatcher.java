@@ -29,7 +29,9 @@
 import org.spongepowered.api.network.EngineConnection;
 import org.spongepowered.api.world.server.ServerWorld;
 
+import java.util.Collection;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 /**
  * Represents a dispatcher of packets.
@@ -58,7 +60,7 @@ public interface PacketDispatcher {
      * @param packet The packet to send
      */
     default void sendToAllPlayers(final Packet packet) {
-        Sponge.server().streamOnlinePlayers().forEach(player -> this.sendTo(player, packet));
+        this.sendTo(Sponge.server().streamOnlinePlayers().map(ServerPlayer::connection).collect(Collectors.toList()), packet);
     }
 
     /**
@@ -72,7 +74,7 @@ default void sendToAllPlayers(final Packet packet) {
      * @param packet The packet to send
      */
     default void sendToAllPlayersIn(final ServerWorld world, final Packet packet) {
-        world.players().forEach(player -> this.sendTo(player, packet));
+        this.sendTo(world.players().stream().map(ServerPlayer::connection).collect(Collectors.toList()), packet);
     }
 
     /**
@@ -126,4 +128,51 @@ default CompletableFuture<Void> sendToServer(final Packet packet) {
      * @return A future which will complete when the operation has finished
      */
     CompletableFuture<Void> sendTo(EngineConnection connection, Packet packet);
+
+    /**
+     * Sends the {@link Packet} to the other side of each of the
+     * {@link EngineConnection}s using this channel.
+     *
+     * <p>Implementations may encode the packet once into a shared, reference
+     * counted {@link org.spongepowered.api.network.channel.ChannelBuf buffer}
+     * which is then written to every connection. This is not guaranteed: the
+     * default implementation sends the packet to each connection through
+     * {@link #sendTo(EngineConnection, Packet)}, encoding it every time.</p>
+     *
+     * <p>A exception will be thrown if the specified packet type
+     * isn't registered in the {@link PacketChannel} this dispatcher
+     * belongs to.</p>
+     *
+     * @param connections The connections to send the packet to
+     * @param packet The packet to send
+     * @return A future which will complete when the operation has finished
+     *     for all connections
+     */
+    default CompletableFuture<Void> sendTo(final Collection<? extends EngineConnection> connections, final Packet packet) {
+        return this.sendTo(connections, packet, false);
+    }
+
+    /**
+     * Sends the {@link Packet} to the other side of each of the
+     * {@link EngineConnection}s using this channel, as described by
+     * {@link #sendTo(Collection, Packet)}.
+     *
+     * <p>If {@code deferFlush} is {@code true}, implementations may write the
+     * packet to the connections but only flush them at the end of the current
+     * tick, along with any other deferred writes, such that many broadcasts
+     * in the same tick are sent in fewer network writes. This is a hint: the
+     * default implementation ignores it and sends the packet as
+     * {@link #sendTo(EngineConnection, Packet)} does.</p>
+     *
+     * @param connections The connections to send the packet to
+     * @param packet The packet to send
+     * @param deferFlush Whether flushing is deferred to the end of the tick
+     * @return A future which will complete when the operation has finished
+     *     for all connections
+     */
+    default CompletableFuture<Void> sendTo(final Collection<? extends EngineConnection> connections, final Packet packet, final boolean deferFlush) {
+        return CompletableFuture.allOf(connections.stream()
+            .map(connection -> this.sendTo(connection, packet))
+            .toArray(CompletableFuture[]::new));
+    }
 }
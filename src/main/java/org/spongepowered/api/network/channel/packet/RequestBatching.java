@@ -0,0 +1,221 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.network.channel.packet;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.network.EngineConnection;
+import org.spongepowered.api.network.channel.ChannelException;
+
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * Controls how the {@link RequestPacket}s of a {@link TransactionalPacketRegistry}
+ * are sent over an {@link EngineConnection}.
+ *
+ * <p>When batching is enabled, requests sent within the same tick are
+ * queued and coalesced into a single framed payload at the end of the tick,
+ * up to {@link #maxBatchSize()} requests per payload. The responses are
+ * matched back to their requests by transaction id, such that each
+ * request still completes its own future.</p>
+ *
+ * <p>The number of requests that are awaiting a response on a connection is
+ * limited to {@link #maxInFlight()}. Further requests wait in a queue until
+ * earlier requests are answered, and requests that would grow that queue
+ * beyond {@link #maxQueued()} fail with a {@link ChannelException}.</p>
+ *
+ * <p>Batching only applies to connections of which the other side supports
+ * it, requests are sent individually to other connections.</p>
+ */
+public final class RequestBatching {
+
+    private static final RequestBatching DISABLED = new RequestBatching(false, 1, Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+    /**
+     * Gets the options that disable batching, sending every request as a
+     * separate payload without limits. This is the default.
+     *
+     * @return The disabled options
+     */
+    public static RequestBatching disabled() {
+        return RequestBatching.DISABLED;
+    }
+
+    /**
+     * Creates a new builder for creating enabled {@link RequestBatching} options.
+     *
+     * @return The new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final int maxInFlight;
+    private final int maxQueued;
+
+    private RequestBatching(final boolean enabled, final int maxBatchSize, final int maxInFlight, final int maxQueued) {
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxInFlight = maxInFlight;
+        this.maxQueued = maxQueued;
+    }
+
+    /**
+     * Gets whether requests are coalesced into batches.
+     *
+     * @return Whether batching is enabled
+     */
+    public boolean enabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Gets the maximum amount of requests in a single payload.
+     *
+     * @return The maximum batch size
+     */
+    public int maxBatchSize() {
+        return this.maxBatchSize;
+    }
+
+    /**
+     * Gets the maximum amount of requests awaiting a response per connection.
+     *
+     * @return The maximum in-flight requests
+     */
+    public int maxInFlight() {
+        return this.maxInFlight;
+    }
+
+    /**
+     * Gets the maximum amount of requests waiting to be sent per connection,
+     * once {@link #maxInFlight()} has been reached.
+     *
+     * @return The maximum queued requests
+     */
+    public int maxQueued() {
+        return this.maxQueued;
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || this.getClass() != o.getClass()) {
+            return false;
+        }
+        final RequestBatching that = (RequestBatching) o;
+        return this.enabled == that.enabled
+            && this.maxBatchSize == that.maxBatchSize
+            && this.maxInFlight == that.maxInFlight
+            && this.maxQueued == that.maxQueued;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.enabled, this.maxBatchSize, this.maxInFlight, this.maxQueued);
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", RequestBatching.class.getSimpleName() + "[", "]")
+            .add("enabled=" + this.enabled)
+            .add("maxBatchSize=" + this.maxBatchSize)
+            .add("maxInFlight=" + this.maxInFlight)
+            .add("maxQueued=" + this.maxQueued)
+            .toString();
+    }
+
+    public static final class Builder implements org.spongepowered.api.util.Builder<RequestBatching, Builder> {
+
+        private int maxBatchSize = 64;
+        private int maxInFlight = 256;
+        private int maxQueued = 4096;
+
+        Builder() {
+        }
+
+        /**
+         * Sets the maximum amount of requests in a single payload, defaults
+         * to {@code 64}.
+         *
+         * @param maxBatchSize The maximum batch size
+         * @return This builder, for chaining
+         */
+        public Builder maxBatchSize(final int maxBatchSize) {
+            if (maxBatchSize < 1) {
+                throw new IllegalArgumentException("The max batch size must be at least 1");
+            }
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum amount of requests awaiting a response per
+         * connection, defaults to {@code 256}.
+         *
+         * @param maxInFlight The maximum in-flight requests
+         * @return This builder, for chaining
+         */
+        public Builder maxInFlight(final int maxInFlight) {
+            if (maxInFlight < 1) {
+                throw new IllegalArgumentException("The max in-flight requests must be at least 1");
+            }
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        /**
+         * Sets the maximum amount of requests waiting to be sent per
+         * connection, defaults to {@code 4096}.
+         *
+         * @param maxQueued The maximum queued requests
+         * @return This builder, for chaining
+         */
+        public Builder maxQueued(final int maxQueued) {
+            if (maxQueued < 0) {
+                throw new IllegalArgumentException("The max queued requests cannot be negative");
+            }
+            this.maxQueued = maxQueued;
+            return this;
+        }
+
+        @Override
+        public Builder reset() {
+            this.maxBatchSize = 64;
+            this.maxInFlight = 256;
+            this.maxQueued = 4096;
+            return this;
+        }
+
+        @Override
+        public RequestBatching build() {
+            return new RequestBatching(true, this.maxBatchSize, this.maxInFlight, this.maxQueued);
+        }
+    }
+}
@@ -79,4 +79,21 @@ <P extends RequestPacket<R>, R extends Packet> TransactionalPacketBinding<P, R>
      */
     <P extends RequestPacket<R>, R extends Packet> Optional<TransactionalPacketBinding<P, R>> transactionalBinding(
             Class<P> requestPacketType);
+
+    /**
+     * Gets the {@link RequestBatching} options of this registry, which
+     * control how requests are sent using
+     * {@link TransactionalPacketDispatcher#sendTo(EngineConnection, RequestPacket)}.
+     *
+     * @return The request batching options
+     */
+    RequestBatching requestBatching();
+
+    /**
+     * Sets the {@link RequestBatching} options of this registry. Requests that
+     * are already queued are sent using the previous options.
+     *
+     * @param batching The request batching options
+     */
+    void setRequestBatching(RequestBatching batching);
 }
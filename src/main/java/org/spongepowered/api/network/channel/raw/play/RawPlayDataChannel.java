@@ -35,8 +35,10 @@
 import org.spongepowered.api.network.channel.raw.handshake.RawHandshakeDataChannel;
 import org.spongepowered.api.world.server.ServerWorld;
 
+import java.util.Collection;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Represents a channel that sends and receives raw data. This
@@ -105,7 +107,7 @@ public interface RawPlayDataChannel {
      * @param payload A consumer to write the data to
      */
     default void sendToAllPlayers(final Consumer<ChannelBuf> payload) {
-        Sponge.server().streamOnlinePlayers().forEach(player -> this.sendTo(player, payload));
+        this.sendTo(Sponge.server().streamOnlinePlayers().map(ServerPlayer::connection).collect(Collectors.toList()), payload);
     }
 
     /**
@@ -119,7 +121,7 @@ default void sendToAllPlayers(final Consumer<ChannelBuf> payload) {
      * @param payload A consumer to write the data to
      */
     default void sendToAllPlayersIn(final ServerWorld world, final Consumer<ChannelBuf> payload) {
-        world.players().forEach(player -> this.sendTo(player, payload));
+        this.sendTo(world.players().stream().map(ServerPlayer::connection).collect(Collectors.toList()), payload);
     }
 
     /**
@@ -157,4 +159,47 @@ default CompletableFuture<Void> sendToServer(final Consumer<ChannelBuf> payload)
      * @return A future which will complete when the operation has finished
      */
     CompletableFuture<Void> sendTo(EngineConnection connection, Consumer<ChannelBuf> payload);
+
+    /**
+     * Sends the raw payload to each of the connections across this channel.
+     *
+     * <p>Implementations may invoke the payload consumer once, writing into a
+     * shared, reference counted {@link ChannelBuf} which is then written to
+     * every connection. This is not guaranteed: the default implementation
+     * sends the payload to each connection through
+     * {@link #sendTo(EngineConnection, Consumer)}, invoking the consumer every
+     * time.</p>
+     *
+     * @param connections The connections to send the payload to
+     * @param payload A consumer to write the data to
+     * @return A future which will complete when the operation has finished
+     *     for all connections
+     */
+    default CompletableFuture<Void> sendTo(final Collection<? extends EngineConnection> connections, final Consumer<ChannelBuf> payload) {
+        return this.sendTo(connections, payload, false);
+    }
+
+    /**
+     * Sends the raw payload to each of the connections across this channel,
+     * as described by {@link #sendTo(Collection, Consumer)}.
+     *
+     * <p>If {@code deferFlush} is {@code true}, implementations may write the
+     * payload to the connections but only flush them at the end of the current
+     * tick, along with any other deferred writes. This is a hint: the default
+     * implementation ignores it and sends the payload as
+     * {@link #sendTo(EngineConnection, Consumer)} does.</p>
+     *
+     * @param connections The connections to send the payload to
+     * @param payload A consumer to write the data to
+     * @param deferFlush Whether flushing is deferred to the end of the tick
+     * @return A future which will complete when the operation has finished
+     *     for all connections
+     */
+    default CompletableFuture<Void> sendTo(final Collection<? extends EngineConnection> connections, final Consumer<ChannelBuf> payload,
+        final boolean deferFlush
+    ) {
+        return CompletableFuture.allOf(connections.stream()
+            .map(connection -> this.sendTo(connection, payload))
+            .toArray(CompletableFuture[]::new));
+    }
 }
@@ -0,0 +1,624 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.profile;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * A {@link GameProfileProvider} that caches and coalesces the lookups of
+ * another provider.
+ *
+ * <ul>
+ *     <li>Concurrent lookups of the same unique id or name share a single
+ *     lookup of the underlying provider.</li>
+ *     <li>Lookups of names that miss the cache are queued for a short
+ *     {@link Builder#batchWindow(Duration) window} and then resolved together
+ *     through a single {@link GameProfileProvider#basicProfiles(Iterable, Instant)}
+ *     call.</li>
+ *     <li>Found profiles are cached for a {@link Builder#expireAfterWrite(Duration)
+ *     limited time}, up to a {@link Builder#maximumSize(int) maximum amount}
+ *     of profiles per kind of lookup, evicting the least recently used
+ *     profiles first.</li>
+ * </ul>
+ *
+ * <p>Lookups of names at a specific point in time are passed through to
+ * the underlying provider without caching.</p>
+ *
+ * <p>The provider should be {@link #close() closed} once it is no longer
+ * used, which releases the batching thread if no
+ * {@link Builder#scheduler(ScheduledExecutorService) scheduler} was
+ * provided.</p>
+ */
+public final class CoalescingGameProfileProvider implements GameProfileProvider, AutoCloseable {
+
+    /**
+     * Creates a new builder for a {@link CoalescingGameProfileProvider}.
+     *
+     * @return The new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private final GameProfileProvider provider;
+    private final ScheduledExecutorService scheduler;
+    private final boolean ownsScheduler;
+    private final Duration batchWindow;
+    private final int maxBatchSize;
+
+    private final Loader<UUID> basicById;
+    private final Loader<String> basicByName;
+    private final Loader<UUID> signedById;
+    private final Loader<UUID> unsignedById;
+
+    private final LongAdder batches = new LongAdder();
+    private final Object pendingLock = new Object();
+    private @Nullable Map<String, CompletableFuture<GameProfile>> pendingNames;
+    private boolean closed;
+
+    private CoalescingGameProfileProvider(final Builder builder, final GameProfileProvider provider) {
+        this.provider = provider;
+        this.scheduler = builder.scheduler == null ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "GameProfile Batcher");
+            thread.setDaemon(true);
+            return thread;
+        }) : builder.scheduler;
+        this.ownsScheduler = builder.scheduler == null;
+        this.batchWindow = builder.batchWindow;
+        this.maxBatchSize = builder.maxBatchSize;
+        final long expireAfterWrite = builder.expireAfterWrite.toNanos();
+        this.basicById = new Loader<>(builder.maximumSize, expireAfterWrite, builder.ticker);
+        this.basicByName = new Loader<>(builder.maximumSize, expireAfterWrite, builder.ticker);
+        this.signedById = new Loader<>(builder.maximumSize, expireAfterWrite, builder.ticker);
+        this.unsignedById = new Loader<>(builder.maximumSize, expireAfterWrite, builder.ticker);
+    }
+
+    @Override
+    public CompletableFuture<GameProfile> basicProfile(final UUID uniqueId) {
+        Objects.requireNonNull(uniqueId, "uniqueId");
+        return this.basicById.get(uniqueId, this.provider::basicProfile);
+    }
+
+    @Override
+    public CompletableFuture<GameProfile> basicProfile(final String name, final @Nullable Instant time) {
+        Objects.requireNonNull(name, "name");
+        if (time != null) {
+            return this.provider.basicProfile(name, time);
+        }
+        return this.basicByName.get(name.toLowerCase(Locale.ROOT), this::enqueueName);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, GameProfile>> basicProfiles(final Iterable<String> names, final @Nullable Instant time) {
+        Objects.requireNonNull(names, "names");
+        if (time != null) {
+            return this.provider.basicProfiles(names, time);
+        }
+        final Map<String, CompletableFuture<GameProfile>> futures = new HashMap<>();
+        for (final String name : names) {
+            futures.put(name, this.basicProfile(name).exceptionally(CoalescingGameProfileProvider::notFound));
+        }
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+            final Map<String, GameProfile> profiles = new HashMap<>();
+            futures.forEach((name, future) -> {
+                final @Nullable GameProfile profile = future.join();
+                if (profile != null) {
+                    profiles.put(name, profile);
+                }
+            });
+            return profiles;
+        });
+    }
+
+    @Override
+    public CompletableFuture<GameProfile> profile(final String name, final boolean signed) {
+        return this.basicProfile(name).thenCompose(profile -> this.profile(profile.uniqueId(), signed));
+    }
+
+    @Override
+    public CompletableFuture<GameProfile> profile(final UUID uniqueId, final boolean signed) {
+        Objects.requireNonNull(uniqueId, "uniqueId");
+        return (signed ? this.signedById : this.unsignedById).get(uniqueId, id -> this.provider.profile(id, signed));
+    }
+
+    /**
+     * Removes all cached profiles with the given unique id.
+     *
+     * @param uniqueId The unique id
+     */
+    public void invalidate(final UUID uniqueId) {
+        this.basicById.invalidate(uniqueId);
+        this.signedById.invalidate(uniqueId);
+        this.unsignedById.invalidate(uniqueId);
+        this.basicByName.invalidateIf(profile -> profile.uniqueId().equals(uniqueId));
+    }
+
+    /**
+     * Removes all cached profiles.
+     */
+    public void invalidateAll() {
+        this.basicById.invalidateIf(profile -> true);
+        this.basicByName.invalidateIf(profile -> true);
+        this.signedById.invalidateIf(profile -> true);
+        this.unsignedById.invalidateIf(profile -> true);
+    }
+
+    /**
+     * Gets a snapshot of the statistics of this provider.
+     *
+     * @return The statistics
+     */
+    public Statistics statistics() {
+        long hits = 0;
+        long misses = 0;
+        long coalesced = 0;
+        long evictions = 0;
+        for (final Loader<?> loader : List.of(this.basicById, this.basicByName, this.signedById, this.unsignedById)) {
+            hits += loader.hits.sum();
+            misses += loader.misses.sum();
+            coalesced += loader.coalesced.sum();
+            evictions += loader.evictions.sum();
+        }
+        return new Statistics(hits, misses, coalesced, evictions, this.batches.sum());
+    }
+
+    /**
+     * Closes this provider. Queued name lookups are started immediately,
+     * later name lookups are no longer batched and the batching thread is
+     * shut down if it was created by this provider.
+     */
+    @Override
+    public void close() {
+        final @Nullable Map<String, CompletableFuture<GameProfile>> pending;
+        synchronized (this.pendingLock) {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            pending = this.pendingNames;
+            this.pendingNames = null;
+        }
+        if (pending != null) {
+            this.lookupNames(pending);
+        }
+        if (this.ownsScheduler) {
+            this.scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Completes lookups of profiles which do not exist with {@code null},
+     * and rethrows any other failure.
+     */
+    private static @Nullable GameProfile notFound(final Throwable error) {
+        final Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof ProfileNotFoundException) {
+            return null;
+        }
+        throw error instanceof CompletionException ? (CompletionException) error : new CompletionException(error);
+    }
+
+    private CompletableFuture<GameProfile> enqueueName(final String name) {
+        final CompletableFuture<GameProfile> future;
+        @Nullable Map<String, CompletableFuture<GameProfile>> full = null;
+        synchronized (this.pendingLock) {
+            final boolean batched = !this.closed && !this.batchWindow.isZero();
+            @Nullable Map<String, CompletableFuture<GameProfile>> pending = this.pendingNames;
+            if (pending == null) {
+                final Map<String, CompletableFuture<GameProfile>> batch = new HashMap<>();
+                this.pendingNames = batch;
+                if (batched) {
+                    this.scheduler.schedule(() -> this.flushNames(batch), this.batchWindow.toNanos(), TimeUnit.NANOSECONDS);
+                }
+                pending = batch;
+            }
+            future = pending.computeIfAbsent(name, key -> new CompletableFuture<>());
+            if (!batched || pending.size() >= this.maxBatchSize) {
+                full = pending;
+                this.pendingNames = null;
+            }
+        }
+        if (full != null) {
+            this.lookupNames(full);
+        }
+        return future;
+    }
+
+    private void flushNames(final Map<String, CompletableFuture<GameProfile>> batch) {
+        synchronized (this.pendingLock) {
+            // The batch may already have been started because it was full,
+            // in which case a newer batch has its own scheduled flush
+            if (this.pendingNames != batch) {
+                return;
+            }
+            this.pendingNames = null;
+        }
+        this.lookupNames(batch);
+    }
+
+    private void lookupNames(final Map<String, CompletableFuture<GameProfile>> batch) {
+        this.batches.increment();
+        final CompletableFuture<Map<String, GameProfile>> lookup;
+        try {
+            lookup = this.provider.basicProfiles(batch.keySet(), null);
+        } catch (final RuntimeException e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+            return;
+        }
+        lookup.whenComplete((result, error) -> {
+            if (error != null) {
+                batch.values().forEach(future -> future.completeExceptionally(error));
+                return;
+            }
+            final Map<String, GameProfile> found = new HashMap<>();
+            result.forEach((name, profile) -> found.put(name.toLowerCase(Locale.ROOT), profile));
+            batch.forEach((name, future) -> {
+                final @Nullable GameProfile profile = found.get(name);
+                if (profile == null) {
+                    future.completeExceptionally(new ProfileNotFoundException("No profile found with the name " + name));
+                } else {
+                    future.complete(profile);
+                }
+            });
+        });
+    }
+
+    /**
+     * Caches and coalesces the lookups of a single kind of key.
+     */
+    private static final class Loader<K> {
+
+        private final int maximumSize;
+        private final long expireAfterWrite;
+        private final LongSupplier ticker;
+        private final LinkedHashMap<K, CachedProfile> cache = new LinkedHashMap<>(16, 0.75f, true);
+        private final ConcurrentHashMap<K, CompletableFuture<GameProfile>> inFlight = new ConcurrentHashMap<>();
+        // Incremented by every invalidation, lookups which started before
+        // an invalidation may have found outdated profiles
+        private long generation;
+
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder coalesced = new LongAdder();
+        final LongAdder evictions = new LongAdder();
+
+        Loader(final int maximumSize, final long expireAfterWrite, final LongSupplier ticker) {
+            this.maximumSize = maximumSize;
+            this.expireAfterWrite = expireAfterWrite;
+            this.ticker = ticker;
+        }
+
+        CompletableFuture<GameProfile> get(final K key, final Function<K, CompletableFuture<GameProfile>> lookup) {
+            final @Nullable GameProfile cached = this.cached(key);
+            if (cached != null) {
+                this.hits.increment();
+                return CompletableFuture.completedFuture(cached);
+            }
+            this.misses.increment();
+            final CompletableFuture<GameProfile> created = new CompletableFuture<>();
+            final CompletableFuture<GameProfile> existing = this.inFlight.putIfAbsent(key, created);
+            if (existing != null) {
+                this.coalesced.increment();
+                return existing.copy();
+            }
+            final long generation = this.generation();
+            final CompletableFuture<GameProfile> result;
+            try {
+                result = lookup.apply(key);
+            } catch (final RuntimeException e) {
+                this.inFlight.remove(key, created);
+                created.completeExceptionally(e);
+                return created.copy();
+            }
+            result.whenComplete((profile, error) -> {
+                if (error == null) {
+                    this.put(key, profile, generation);
+                }
+                this.inFlight.remove(key, created);
+                if (error == null) {
+                    created.complete(profile);
+                } else {
+                    created.completeExceptionally(error);
+                }
+            });
+            return created.copy();
+        }
+
+        synchronized @Nullable GameProfile cached(final K key) {
+            final @Nullable CachedProfile cached = this.cache.get(key);
+            if (cached == null) {
+                return null;
+            }
+            if (this.ticker.getAsLong() - cached.written >= this.expireAfterWrite) {
+                this.cache.remove(key);
+                this.evictions.increment();
+                return null;
+            }
+            return cached.profile;
+        }
+
+        synchronized long generation() {
+            return this.generation;
+        }
+
+        synchronized void put(final K key, final GameProfile profile, final long generation) {
+            if (this.generation != generation) {
+                return;
+            }
+            this.cache.put(key, new CachedProfile(profile, this.ticker.getAsLong()));
+            final Iterator<CachedProfile> iterator = this.cache.values().iterator();
+            while (this.cache.size() > this.maximumSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                this.evictions.increment();
+            }
+        }
+
+        synchronized void invalidate(final K key) {
+            this.generation++;
+            this.cache.remove(key);
+        }
+
+        synchronized void invalidateIf(final Predicate<GameProfile> filter) {
+            this.generation++;
+            this.cache.values().removeIf(cached -> filter.test(cached.profile));
+        }
+    }
+
+    private static final class CachedProfile {
+
+        final GameProfile profile;
+        final long written;
+
+        CachedProfile(final GameProfile profile, final long written) {
+            this.profile = profile;
+            this.written = written;
+        }
+    }
+
+    /**
+     * A snapshot of the statistics of a {@link CoalescingGameProfileProvider}.
+     */
+    public static final class Statistics {
+
+        private final long hitCount;
+        private final long missCount;
+        private final long coalescedCount;
+        private final long evictionCount;
+        private final long batchCount;
+
+        Statistics(final long hitCount, final long missCount, final long coalescedCount, final long evictionCount, final long batchCount) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.coalescedCount = coalescedCount;
+            this.evictionCount = evictionCount;
+            this.batchCount = batchCount;
+        }
+
+        /**
+         * Gets the amount of lookups that were served from the cache.
+         *
+         * @return The hit count
+         */
+        public long hitCount() {
+            return this.hitCount;
+        }
+
+        /**
+         * Gets the amount of lookups that were not served from the cache,
+         * including those that were coalesced with another lookup.
+         *
+         * @return The miss count
+         */
+        public long missCount() {
+            return this.missCount;
+        }
+
+        /**
+         * Gets the amount of lookups that shared the lookup of an earlier,
+         * still incomplete, lookup of the same key.
+         *
+         * @return The coalesced count
+         */
+        public long coalescedCount() {
+            return this.coalescedCount;
+        }
+
+        /**
+         * Gets the amount of profiles that were evicted from the cache, as
+         * they expired or the cache exceeded its maximum size.
+         *
+         * @return The eviction count
+         */
+        public long evictionCount() {
+            return this.evictionCount;
+        }
+
+        /**
+         * Gets the amount of batched name lookups that were made.
+         *
+         * @return The batch count
+         */
+        public long batchCount() {
+            return this.batchCount;
+        }
+
+        /**
+         * Gets the ratio of lookups that were served from the cache.
+         *
+         * @return The hit rate, between {@code 0} and {@code 1}
+         */
+        public double hitRate() {
+            final long total = this.hitCount + this.missCount;
+            return total == 0 ? 1.0 : (double) this.hitCount / total;
+        }
+
+        @Override
+        public String toString() {
+            return new StringJoiner(", ", Statistics.class.getSimpleName() + "[", "]")
+                .add("hitCount=" + this.hitCount)
+                .add("missCount=" + this.missCount)
+                .add("coalescedCount=" + this.coalescedCount)
+                .add("evictionCount=" + this.evictionCount)
+                .add("batchCount=" + this.batchCount)
+                .toString();
+        }
+    }
+
+    public static final class Builder {
+
+        @Nullable ScheduledExecutorService scheduler;
+        Duration batchWindow = Duration.ofMillis(50);
+        int maxBatchSize = 10;
+        Duration expireAfterWrite = Duration.ofHours(1);
+        int maximumSize = 10_000;
+        LongSupplier ticker = System::nanoTime;
+
+        Builder() {
+        }
+
+        /**
+         * Sets the time for which name lookups are queued before they are
+         * resolved together, defaults to 50 milliseconds. A window of zero
+         * disables batching.
+         *
+         * @param batchWindow The batch window
+         * @return This builder, for chaining
+         */
+        public Builder batchWindow(final Duration batchWindow) {
+            if (Objects.requireNonNull(batchWindow, "batchWindow").isNegative()) {
+                throw new IllegalArgumentException("The batch window cannot be negative");
+            }
+            this.batchWindow = batchWindow;
+            return this;
+        }
+
+        /**
+         * Sets the maximum amount of names resolved together, a batch is
+         * resolved immediately once it reaches this size. Defaults to
+         * {@code 10}, the limit of the Mojang API.
+         *
+         * @param maxBatchSize The maximum batch size
+         * @return This builder, for chaining
+         */
+        public Builder maxBatchSize(final int maxBatchSize) {
+            if (maxBatchSize < 1) {
+                throw new IllegalArgumentException("The max batch size must be at least 1");
+            }
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Sets the time for which found profiles are cached, defaults to
+         * one hour.
+         *
+         * @param expireAfterWrite The time to live
+         * @return This builder, for chaining
+         */
+        public Builder expireAfterWrite(final Duration expireAfterWrite) {
+            if (Objects.requireNonNull(expireAfterWrite, "expireAfterWrite").isNegative()) {
+                throw new IllegalArgumentException("The time to live cannot be negative");
+            }
+            this.expireAfterWrite = expireAfterWrite;
+            return this;
+        }
+
+        /**
+         * Sets the maximum amount of profiles cached per kind of lookup,
+         * defaults to {@code 10000}.
+         *
+         * @param maximumSize The maximum size
+         * @return This builder, for chaining
+         */
+        public Builder maximumSize(final int maximumSize) {
+            if (maximumSize < 0) {
+                throw new IllegalArgumentException("The maximum size cannot be negative");
+            }
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Sets the scheduler on which batched name lookups are started. By
+         * default a single daemon thread is created for the provider, which
+         * is shut down when the provider is
+         * {@link CoalescingGameProfileProvider#close() closed}. A
+         * scheduler set here is never shut down by the provider.
+         *
+         * @param scheduler The scheduler
+         * @return This builder, for chaining
+         */
+        public Builder scheduler(final ScheduledExecutorService scheduler) {
+            this.scheduler = Objects.requireNonNull(scheduler, "scheduler");
+            return this;
+        }
+
+        /**
+         * Sets the source of time, in nanoseconds, used to expire cached
+         * profiles. Defaults to {@link System#nanoTime()}.
+         *
+         * @param ticker The ticker
+         * @return This builder, for chaining
+         */
+        public Builder ticker(final LongSupplier ticker) {
+            this.ticker = Objects.requireNonNull(ticker, "ticker");
+            return this;
+        }
+
+        /**
+         * Creates a new {@link CoalescingGameProfileProvider} that looks up
+         * profiles through the given provider.
+         *
+         * @param provider The underlying provider
+         * @return The coalescing provider
+         */
+        public CoalescingGameProfileProvider build(final GameProfileProvider provider) {
+            return new CoalescingGameProfileProvider(this, Objects.requireNonNull(provider, "provider"));
+        }
+    }
+}
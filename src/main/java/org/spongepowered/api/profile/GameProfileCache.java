@@ -27,8 +27,12 @@
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.user.UserManager;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Predicate;
@@ -39,6 +43,31 @@
  */
 public interface GameProfileCache {
 
+    /**
+     * Opens a {@link GameProfileCache} that stores its profiles off-heap, in
+     * the memory-mapped file at the given {@link Path}. The file is created
+     * if it does not exist.
+     *
+     * <p>Profiles are appended to the file as they are cached, and are
+     * only decoded when they are looked up, such that neither loading the
+     * cache nor holding it keeps every profile on the heap. The cache keeps
+     * an index of unique ids and a sorted index of lower case names, such
+     * that {@link #findById(UUID)}, {@link #findByName(String)} and the
+     * prefix matching of {@link #streamOfMatches(String)} do not scan every
+     * profile. Space of removed and replaced profiles is reclaimed when the
+     * file is compacted as it is opened.</p>
+     *
+     * <p>The cache keeps the file open until it is
+     * {@link Mapped#close() closed}.</p>
+     *
+     * @param file The file of the cache
+     * @return The memory-mapped cache
+     * @throws IOException If the file could not be opened or is corrupt
+     */
+    static Mapped mapped(final Path file) throws IOException {
+        return MappedGameProfileCache.open(Objects.requireNonNull(file, "file"));
+    }
+
     /**
      * Remove entries from this cache in bulk.
      *
@@ -143,4 +172,34 @@ public interface GameProfileCache {
      * @return A {@link Stream} of matching {@link GameProfile}s
      */
     Stream<GameProfile> streamOfMatches(String name);
+
+    /**
+     * A {@link GameProfileCache} backed by a memory-mapped file.
+     *
+     * <p>The file stays open and mapped for as long as the cache is open.
+     * The owner of the cache is responsible for closing it, a
+     * {@link GameProfileManager} does not close caches that are
+     * {@link GameProfileManager#setCache(GameProfileCache) replaced}.</p>
+     */
+    interface Mapped extends GameProfileCache, Closeable {
+
+        /**
+         * Adds a profile to this cache, replacing the cached profile with
+         * the same {@link GameProfile#uniqueId() unique id}.
+         *
+         * @param profile The profile
+         */
+        void add(GameProfile profile);
+
+        /**
+         * Writes all pending changes to the file and closes it. The cache
+         * may no longer be used afterwards, every further operation throws
+         * an {@link IllegalStateException}. Closing a closed cache has no
+         * effect.
+         *
+         * @throws IOException If the pending changes could not be written
+         */
+        @Override
+        void close() throws IOException;
+    }
 }
@@ -24,6 +24,8 @@
  */
 package org.spongepowered.api.profile;
 
+import java.nio.file.Path;
+
 /**
  * Manages {@link GameProfile} creation and data population.
  *
@@ -43,6 +45,16 @@ public interface GameProfileManager extends GameProfileProvider {
      */
     GameProfileCache cache();
 
+    /**
+     * Replaces the {@link GameProfileCache} used by this manager, such as
+     * with a {@link GameProfileCache#mapped(Path) memory-mapped cache}. The
+     * profiles of the previous cache are not transferred, and the previous
+     * cache is not closed.
+     *
+     * @param cache The new cache
+     */
+    void setCache(GameProfileCache cache);
+
     /**
      * Gets a {@link GameProfileProvider} which bypasses the
      * {@link GameProfileCache}.
@@ -0,0 +1,562 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.profile;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.profile.property.ProfileProperty;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * A {@link GameProfileCache} which stores its profiles in a memory-mapped,
+ * append-only file.
+ *
+ * <p>Each change is appended to the file as a record, which is prefixed by
+ * its length and followed by a zero length, such that a record torn by a
+ * crash ends the file. Only the offset of the latest record of each profile
+ * and a sorted index of lower case names are kept on the heap, profiles are
+ * decoded from the mapped file when they are looked up. The file is
+ * compacted when it is opened, if more of it is taken by removed and
+ * replaced profiles than by the current ones.</p>
+ */
+final class MappedGameProfileCache implements GameProfileCache.Mapped {
+
+    private static final int MAGIC = 0x53504743;
+    private static final int HEADER = 4;
+    private static final int INITIAL_SIZE = 1 << 16;
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final byte CLEAR = 3;
+
+    static MappedGameProfileCache open(final Path file) throws IOException {
+        return MappedGameProfileCache.open(file, BuilderDecoder.INSTANCE);
+    }
+
+    static MappedGameProfileCache open(final Path file, final Decoder decoder) throws IOException {
+        final MappedGameProfileCache cache = new MappedGameProfileCache(file, decoder);
+        if (cache.end - MappedGameProfileCache.HEADER - cache.liveBytes <= cache.liveBytes) {
+            return cache;
+        }
+        // Rewrite the file with only the latest record of each profile
+        final Path compacted = file.resolveSibling(file.getFileName() + ".tmp");
+        try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(compacted)))) {
+            out.writeInt(MappedGameProfileCache.MAGIC);
+            for (final Entry entry : cache.entries.values()) {
+                final byte[] record = cache.record(entry.offset);
+                out.writeInt(record.length);
+                out.write(record);
+            }
+            out.writeInt(0);
+        }
+        cache.close();
+        Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return new MappedGameProfileCache(file, decoder);
+    }
+
+    private final Decoder decoder;
+    private final FileChannel channel;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private final TreeMap<String, UUID> names = new TreeMap<>();
+    private MappedByteBuffer buffer;
+    private int end;
+    private long liveBytes;
+    private boolean closed;
+
+    private MappedGameProfileCache(final Path file, final Decoder decoder) throws IOException {
+        this.decoder = decoder;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            final long size = this.channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("The profile cache " + file + " is too large");
+            }
+            this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, MappedGameProfileCache.INITIAL_SIZE));
+            if (size == 0) {
+                this.buffer.putInt(0, MappedGameProfileCache.MAGIC);
+            } else if (size < MappedGameProfileCache.HEADER || this.buffer.getInt(0) != MappedGameProfileCache.MAGIC) {
+                throw new IOException("The file " + file + " is not a profile cache");
+            }
+            this.replay();
+        } catch (final IOException | RuntimeException e) {
+            this.channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Adds a profile to this cache, replacing the cached profile with the
+     * same unique id.
+     *
+     * @param profile The profile
+     */
+    @Override
+    public void add(final GameProfile profile) {
+        Objects.requireNonNull(profile, "profile");
+        this.lock.writeLock().lock();
+        try {
+            this.checkOpen();
+            final int offset = this.append(MappedGameProfileCache.encode(profile));
+            this.index(profile.uniqueId(), profile.name().orElse(null), offset);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(final GameProfile profile) {
+        Objects.requireNonNull(profile, "profile");
+        this.lock.writeLock().lock();
+        try {
+            this.checkOpen();
+            return this.removeById(profile.uniqueId());
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Collection<GameProfile> remove(final Iterable<GameProfile> profiles) {
+        Objects.requireNonNull(profiles, "profiles");
+        final List<GameProfile> removed = new ArrayList<>();
+        this.lock.writeLock().lock();
+        try {
+            this.checkOpen();
+            for (final GameProfile profile : profiles) {
+                if (this.removeById(profile.uniqueId())) {
+                    removed.add(profile);
+                }
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+        return removed;
+    }
+
+    @Override
+    public Collection<GameProfile> removeIf(final Predicate<GameProfile> filter) {
+        Objects.requireNonNull(filter, "filter");
+        final List<GameProfile> removed = new ArrayList<>();
+        this.lock.writeLock().lock();
+        try {
+            this.checkOpen();
+            for (final Entry entry : new ArrayList<>(this.entries.values())) {
+                final GameProfile profile = this.decode(entry.offset);
+                if (filter.test(profile)) {
+                    this.removeById(profile.uniqueId());
+                    removed.add(profile);
+                }
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        this.lock.writeLock().lock();
+        try {
+            this.checkOpen();
+            this.append(new byte[] {MappedGameProfileCache.CLEAR});
+            this.entries.clear();
+            this.names.clear();
+            this.liveBytes = 0;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<GameProfile> findById(final UUID uniqueId) {
+        Objects.requireNonNull(uniqueId, "uniqueId");
+        this.lock.readLock().lock();
+        try {
+            this.checkOpen();
+            return this.lookup(uniqueId);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Map<UUID, Optional<GameProfile>> findByIds(final Iterable<UUID> uniqueIds) {
+        Objects.requireNonNull(uniqueIds, "uniqueIds");
+        final Map<UUID, Optional<GameProfile>> found = new HashMap<>();
+        this.lock.readLock().lock();
+        try {
+            this.checkOpen();
+            for (final UUID uniqueId : uniqueIds) {
+                found.put(uniqueId, this.lookup(uniqueId));
+            }
+        } finally {
+            this.lock.readLock().unlock();
+        }
+        return found;
+    }
+
+    @Override
+    public Optional<GameProfile> findByName(final String name) {
+        Objects.requireNonNull(name, "name");
+        this.lock.readLock().lock();
+        try {
+            this.checkOpen();
+            final @Nullable UUID uniqueId = this.names.get(name.toLowerCase(Locale.ROOT));
+            return uniqueId == null ? Optional.empty() : this.lookup(uniqueId);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Map<String, Optional<GameProfile>> findByNames(final Iterable<String> names) {
+        Objects.requireNonNull(names, "names");
+        final Map<String, Optional<GameProfile>> found = new HashMap<>();
+        this.lock.readLock().lock();
+        try {
+            this.checkOpen();
+            for (final String name : names) {
+                final @Nullable UUID uniqueId = this.names.get(name.toLowerCase(Locale.ROOT));
+                found.put(name, uniqueId == null ? Optional.empty() : this.lookup(uniqueId));
+            }
+        } finally {
+            this.lock.readLock().unlock();
+        }
+        return found;
+    }
+
+    @Override
+    public Collection<GameProfile> all() {
+        return this.stream().toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The profiles are decoded as the stream is consumed. The stream
+     * reflects the profiles cached when it was created, and throws an
+     * {@link IllegalStateException} if it is consumed after this cache was
+     * closed.</p>
+     */
+    @Override
+    public Stream<GameProfile> stream() {
+        return this.decodeLazily(this.offsets(null));
+    }
+
+    @Override
+    public Collection<GameProfile> allMatches(final String name) {
+        return this.streamOfMatches(name).toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The profiles are found through the sorted index of names, and are
+     * decoded as the stream is consumed.</p>
+     */
+    @Override
+    public Stream<GameProfile> streamOfMatches(final String name) {
+        return this.decodeLazily(this.offsets(Objects.requireNonNull(name, "name").toLowerCase(Locale.ROOT)));
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.lock.writeLock().lock();
+        try {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            this.buffer.force();
+            this.channel.close();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    private void checkOpen() {
+        if (this.closed) {
+            throw new IllegalStateException("The profile cache is closed");
+        }
+    }
+
+    private Optional<GameProfile> lookup(final UUID uniqueId) {
+        final @Nullable Entry entry = this.entries.get(uniqueId);
+        return entry == null ? Optional.empty() : Optional.of(this.decode(entry.offset));
+    }
+
+    /**
+     * Gets the offsets of all profiles, or of the profiles whose lower case
+     * names start with the given prefix.
+     */
+    private List<Integer> offsets(final @Nullable String prefix) {
+        this.lock.readLock().lock();
+        try {
+            this.checkOpen();
+            final List<Integer> offsets = new ArrayList<>();
+            if (prefix == null) {
+                this.entries.values().forEach(entry -> offsets.add(entry.offset));
+            } else {
+                for (final UUID uniqueId : this.names.subMap(prefix, prefix + Character.MAX_VALUE).values()) {
+                    offsets.add(this.entries.get(uniqueId).offset);
+                }
+            }
+            return offsets;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private Stream<GameProfile> decodeLazily(final List<Integer> offsets) {
+        // Records are never overwritten while the file is open, so the
+        // offsets stay valid after the lock is released
+        return offsets.stream().map(offset -> {
+            this.lock.readLock().lock();
+            try {
+                this.checkOpen();
+                return this.decode(offset);
+            } finally {
+                this.lock.readLock().unlock();
+            }
+        });
+    }
+
+    private boolean removeById(final UUID uniqueId) {
+        if (!this.entries.containsKey(uniqueId)) {
+            return false;
+        }
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(17);
+        try (final DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(MappedGameProfileCache.REMOVE);
+            MappedGameProfileCache.writeId(out, uniqueId);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.append(bytes.toByteArray());
+        this.unindex(uniqueId);
+        return true;
+    }
+
+    private void index(final UUID uniqueId, final @Nullable String name, final int offset) {
+        this.unindex(uniqueId);
+        final @Nullable String key = name == null ? null : name.toLowerCase(Locale.ROOT);
+        this.entries.put(uniqueId, new Entry(offset, key));
+        this.liveBytes += 4 + this.buffer.getInt(offset);
+        if (key != null) {
+            // A name is indexed for the profile which most recently used it
+            this.names.put(key, uniqueId);
+        }
+    }
+
+    private void unindex(final UUID uniqueId) {
+        final @Nullable Entry entry = this.entries.remove(uniqueId);
+        if (entry == null) {
+            return;
+        }
+        this.liveBytes -= 4 + this.buffer.getInt(entry.offset);
+        if (entry.name != null) {
+            this.names.remove(entry.name, uniqueId);
+        }
+    }
+
+    /**
+     * Appends a record and returns its offset.
+     */
+    private int append(final byte[] record) {
+        final long required = (long) this.end + record.length + 8;
+        if (required > this.buffer.capacity()) {
+            if (required > Integer.MAX_VALUE) {
+                throw new IllegalStateException("The profile cache is full");
+            }
+            try {
+                this.buffer.force();
+                this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                        Math.max(required, Math.min((long) this.buffer.capacity() * 2, Integer.MAX_VALUE)));
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Could not grow the profile cache", e);
+            }
+        }
+        final int offset = this.end;
+        this.buffer.put(offset + 4, record);
+        this.buffer.putInt(offset + 4 + record.length, 0);
+        // The length is written last, such that a torn record is never read
+        this.buffer.putInt(offset, record.length);
+        this.end = offset + 4 + record.length;
+        return offset;
+    }
+
+    private void replay() throws IOException {
+        this.end = MappedGameProfileCache.HEADER;
+        while (this.end + 4 <= this.buffer.capacity()) {
+            final int length = this.buffer.getInt(this.end);
+            if (length <= 0 || (long) this.end + 4 + length > this.buffer.capacity()) {
+                // The end of the file, or a record torn by a crash
+                break;
+            }
+            final int offset = this.end;
+            final DataInputStream in = new DataInputStream(new ByteArrayInputStream(this.record(offset)));
+            final byte operation = in.readByte();
+            if (operation == MappedGameProfileCache.PUT) {
+                final UUID uniqueId = MappedGameProfileCache.readId(in);
+                this.index(uniqueId, in.readBoolean() ? in.readUTF() : null, offset);
+            } else if (operation == MappedGameProfileCache.REMOVE) {
+                this.unindex(MappedGameProfileCache.readId(in));
+            } else if (operation == MappedGameProfileCache.CLEAR) {
+                this.entries.clear();
+                this.names.clear();
+                this.liveBytes = 0;
+            } else {
+                throw new IOException("Unknown operation in profile cache: " + operation);
+            }
+            this.end = offset + 4 + length;
+        }
+    }
+
+    private byte[] record(final int offset) {
+        final byte[] record = new byte[this.buffer.getInt(offset)];
+        this.buffer.get(offset + 4, record);
+        return record;
+    }
+
+    private GameProfile decode(final int offset) {
+        try {
+            final DataInputStream in = new DataInputStream(new ByteArrayInputStream(this.record(offset)));
+            in.readByte();
+            final UUID uniqueId = MappedGameProfileCache.readId(in);
+            final @Nullable String name = in.readBoolean() ? in.readUTF() : null;
+            final int count = in.readInt();
+            final List<ProfileProperty> properties = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                final String propertyName = in.readUTF();
+                final String value = in.readUTF();
+                properties.add(this.decoder.property(propertyName, value, in.readBoolean() ? in.readUTF() : null));
+            }
+            return this.decoder.profile(uniqueId, name, properties);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Corrupt profile record at " + offset, e);
+        }
+    }
+
+    private static byte[] encode(final GameProfile profile) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(MappedGameProfileCache.PUT);
+            MappedGameProfileCache.writeId(out, profile.uniqueId());
+            MappedGameProfileCache.writeNullable(out, profile.name().orElse(null));
+            final List<ProfileProperty> properties = profile.properties();
+            out.writeInt(properties.size());
+            for (final ProfileProperty property : properties) {
+                out.writeUTF(property.name());
+                out.writeUTF(property.value());
+                MappedGameProfileCache.writeNullable(out, property.signature().orElse(null));
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeId(final DataOutputStream out, final UUID uniqueId) throws IOException {
+        out.writeLong(uniqueId.getMostSignificantBits());
+        out.writeLong(uniqueId.getLeastSignificantBits());
+    }
+
+    private static UUID readId(final DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    private static void writeNullable(final DataOutputStream out, final @Nullable String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    /**
+     * Creates the profiles which are read from the file.
+     */
+    interface Decoder {
+
+        GameProfile profile(UUID uniqueId, @Nullable String name, List<ProfileProperty> properties);
+
+        ProfileProperty property(String name, String value, @Nullable String signature);
+    }
+
+    /**
+     * Creates profiles through the factories of the platform.
+     */
+    private static final class BuilderDecoder implements Decoder {
+
+        static final BuilderDecoder INSTANCE = new BuilderDecoder();
+
+        @Override
+        public GameProfile profile(final UUID uniqueId, final @Nullable String name, final List<ProfileProperty> properties) {
+            final GameProfile profile = GameProfile.of(uniqueId, name);
+            return properties.isEmpty() ? profile : profile.withProperties(properties);
+        }
+
+        @Override
+        public ProfileProperty property(final String name, final String value, final @Nullable String signature) {
+            return ProfileProperty.of(name, value, signature);
+        }
+    }
+
+    private static final class Entry {
+
+        final int offset;
+        final @Nullable String name;
+
+        Entry(final int offset, final @Nullable String name) {
+            this.offset = offset;
+            this.name = name;
+        }
+    }
+}
@@ -146,6 +146,18 @@ interface IP extends Ban {
          */
         InetAddress address();
 
+        /**
+         * Gets the amount of leading bits of the {@link #address()} that an
+         * address must share to be banned, such that the ban applies to a
+         * range of addresses. Defaults to the full length of the address,
+         * which bans only the address itself.
+         *
+         * @return The prefix length
+         */
+        default int prefixLength() {
+            return this.address().getAddress().length * Byte.SIZE;
+        }
+
     }
 
     /**
@@ -173,6 +185,19 @@ interface Builder extends org.spongepowered.api.util.Builder<Ban, Builder>, Copy
          */
         Builder address(InetAddress address);
 
+        /**
+         * Sets the IP address to be banned, along with the amount of leading
+         * bits that an address must share with it to be banned.
+         *
+         * <p>This can only be done if the {@link BanType} has been set to {@link BanTypes#IP}.</p>
+         *
+         * @param address The IP address
+         * @param prefixLength The prefix length
+         * @return This builder
+         * @see IP#prefixLength()
+         */
+        Builder address(InetAddress address, int prefixLength);
+
         /**
          * Sets the type of the ban.
          *
@@ -0,0 +1,624 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.service.ban;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.profile.GameProfile;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A {@link BanService} which keeps all bans in memory, in structures that
+ * make the checks performed when a player logs in cheap.
+ *
+ * <ul>
+ *     <li>Profile bans are indexed by the unique id of the profile.</li>
+ *     <li>IP bans are stored in a binary trie per address family, keyed by
+ *     the leading {@link Ban.IP#prefixLength() prefix} bits of the address,
+ *     such that a lookup finds the most specific ban covering an address,
+ *     including range bans, in as many steps as the address has bits.</li>
+ *     <li>Temporary bans are queued by their expiration date, and are
+ *     removed as they expire without scanning all bans.</li>
+ * </ul>
+ *
+ * <p>A service {@link #open(Path) opened} on a file persists every change by
+ * appending it to the file before applying it, such that a change which
+ * could not be persisted has no effect. The file is compacted each time it
+ * is opened, dropping removed and expired bans.</p>
+ */
+public final class IndexedBanService implements BanService, AutoCloseable {
+
+    private static final byte ADD = 1;
+    private static final byte REMOVE = 2;
+    private static final byte PROFILE = 1;
+    private static final byte IP = 2;
+
+    /**
+     * Creates a new service which does not persist its bans.
+     *
+     * @return The new ban service
+     */
+    public static IndexedBanService inMemory() {
+        return new IndexedBanService(Clock.systemUTC());
+    }
+
+    /**
+     * Opens a service which persists its bans in the given file, loading
+     * the bans that are already stored in it.
+     *
+     * @param file The file to store bans in
+     * @return The new ban service
+     * @throws IOException If the file could not be read or written
+     */
+    public static IndexedBanService open(final Path file) throws IOException {
+        return IndexedBanService.open(file, Clock.systemUTC());
+    }
+
+    /**
+     * Opens a service which persists its bans in the given file, loading
+     * the bans that are already stored in it, and uses the given clock to
+     * determine whether bans are expired.
+     *
+     * @param file The file to store bans in
+     * @param clock The clock
+     * @return The new ban service
+     * @throws IOException If the file could not be read or written
+     */
+    public static IndexedBanService open(final Path file, final Clock clock) throws IOException {
+        return IndexedBanService.open(file, clock, BuilderDecoder.INSTANCE);
+    }
+
+    static IndexedBanService open(final Path file, final Clock clock, final Decoder decoder) throws IOException {
+        final IndexedBanService service = new IndexedBanService(clock);
+        if (Files.exists(file)) {
+            try (final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                service.replay(in, decoder);
+            }
+        }
+        service.expire();
+        // Compact the log to the bans which are still active
+        final Path compacted = file.resolveSibling(file.getFileName() + ".tmp");
+        try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(compacted)))) {
+            for (final Ban ban : service.activeBans()) {
+                IndexedBanService.write(out, IndexedBanService.ADD, ban);
+            }
+        }
+        Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        service.log = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.APPEND)));
+        return service;
+    }
+
+    private final Clock clock;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Ban.Profile> profileBans = new ConcurrentHashMap<>();
+    private final IpNode ipv4 = new IpNode();
+    private final IpNode ipv6 = new IpNode();
+    private final PriorityQueue<Ban> expirations = new PriorityQueue<>(
+            Comparator.comparing(ban -> ban.expirationDate().orElse(Instant.MAX)));
+    private volatile Instant nextExpiration = Instant.MAX;
+    private @Nullable DataOutputStream log;
+
+    private IndexedBanService(final Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public CompletableFuture<Collection<? extends Ban>> bans() {
+        this.expire();
+        this.lock.readLock().lock();
+        try {
+            return CompletableFuture.completedFuture(this.activeBans());
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Collection<Ban.Profile>> profileBans() {
+        this.expire();
+        return CompletableFuture.completedFuture(List.copyOf(this.profileBans.values()));
+    }
+
+    @Override
+    public CompletableFuture<Collection<Ban.IP>> ipBans() {
+        this.expire();
+        this.lock.readLock().lock();
+        try {
+            final List<Ban.IP> bans = new ArrayList<>();
+            this.ipv4.collect(bans);
+            this.ipv6.collect(bans);
+            return CompletableFuture.completedFuture(bans);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Optional<Ban.Profile>> find(final GameProfile profile) {
+        this.expire();
+        return CompletableFuture.completedFuture(Optional.ofNullable(this.profileBans.get(profile.uniqueId())));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Ban.IP>> find(final InetAddress address) {
+        this.expire();
+        final byte[] bytes = address.getAddress();
+        this.lock.readLock().lock();
+        try {
+            IpNode node = this.root(bytes);
+            Ban.@Nullable IP found = node.ban;
+            for (int depth = 0; depth < bytes.length * Byte.SIZE; depth++) {
+                final @Nullable IpNode child = node.child(IndexedBanService.bit(bytes, depth));
+                if (child == null) {
+                    break;
+                }
+                node = child;
+                if (node.ban != null) {
+                    found = node.ban;
+                }
+            }
+            return CompletableFuture.completedFuture(Optional.ofNullable(found));
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Boolean> pardon(final GameProfile profile) {
+        this.lock.writeLock().lock();
+        try {
+            final Ban.@Nullable Profile existing = this.profileBans.get(profile.uniqueId());
+            if (existing != null) {
+                this.append(IndexedBanService.REMOVE, existing);
+                this.profileBans.remove(profile.uniqueId());
+            }
+            return CompletableFuture.completedFuture(existing != null);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Only the ban of exactly the given address is removed. Range bans
+     * covering the address remain in effect, and are removed through
+     * {@link #remove(Ban)}.</p>
+     */
+    @Override
+    public CompletableFuture<Boolean> pardon(final InetAddress address) {
+        final byte[] bytes = address.getAddress();
+        this.lock.writeLock().lock();
+        try {
+            final @Nullable IpNode node = this.ipNode(bytes, bytes.length * Byte.SIZE);
+            final Ban.@Nullable IP existing = node == null ? null : node.ban;
+            if (existing != null) {
+                this.append(IndexedBanService.REMOVE, existing);
+                this.removeIp(bytes, bytes.length * Byte.SIZE, null);
+            }
+            return CompletableFuture.completedFuture(existing != null);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Boolean> remove(final Ban ban) {
+        this.lock.writeLock().lock();
+        try {
+            if (!this.contains(ban)) {
+                return CompletableFuture.completedFuture(false);
+            }
+            this.append(IndexedBanService.REMOVE, ban);
+            this.removeIfPresent(ban);
+            return CompletableFuture.completedFuture(true);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Optional<? extends Ban>> add(final Ban ban) {
+        IndexedBanService.checkSupported(ban);
+        this.lock.writeLock().lock();
+        try {
+            this.append(IndexedBanService.ADD, ban);
+            return CompletableFuture.completedFuture(Optional.ofNullable(this.put(ban)));
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Closes the file this service persists its bans in, if any. The service
+     * must not be modified afterwards.
+     *
+     * @throws IOException If the file could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        this.lock.writeLock().lock();
+        try {
+            if (this.log != null) {
+                this.log.close();
+                this.log = null;
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    private @Nullable Ban put(final Ban ban) {
+        IndexedBanService.checkSupported(ban);
+        final @Nullable Ban previous;
+        if (ban instanceof Ban.IP) {
+            final Ban.IP ip = (Ban.IP) ban;
+            final byte[] bytes = ip.address().getAddress();
+            IpNode node = this.root(bytes);
+            for (int depth = 0; depth < ip.prefixLength(); depth++) {
+                final int bit = IndexedBanService.bit(bytes, depth);
+                @Nullable IpNode child = node.child(bit);
+                if (child == null) {
+                    child = new IpNode();
+                    if (bit == 0) {
+                        node.zero = child;
+                    } else {
+                        node.one = child;
+                    }
+                }
+                node = child;
+            }
+            previous = node.ban;
+            node.ban = ip;
+        } else {
+            previous = this.profileBans.put(((Ban.Profile) ban).profile().uniqueId(), (Ban.Profile) ban);
+        }
+        ban.expirationDate().ifPresent(expiration -> {
+            this.expirations.add(ban);
+            if (expiration.isBefore(this.nextExpiration)) {
+                this.nextExpiration = expiration;
+            }
+        });
+        return previous;
+    }
+
+    private boolean contains(final Ban ban) {
+        if (ban instanceof Ban.Profile) {
+            return ban.equals(this.profileBans.get(((Ban.Profile) ban).profile().uniqueId()));
+        } else if (ban instanceof Ban.IP) {
+            final Ban.IP ip = (Ban.IP) ban;
+            final byte[] address = ip.address().getAddress();
+            if (ip.prefixLength() < 0 || ip.prefixLength() > address.length * Byte.SIZE) {
+                return false;
+            }
+            final @Nullable IpNode node = this.ipNode(address, ip.prefixLength());
+            return node != null && ban.equals(node.ban);
+        }
+        return false;
+    }
+
+    private boolean removeIfPresent(final Ban ban) {
+        if (ban instanceof Ban.Profile) {
+            return this.profileBans.remove(((Ban.Profile) ban).profile().uniqueId(), ban);
+        } else if (ban instanceof Ban.IP) {
+            final Ban.IP ip = (Ban.IP) ban;
+            return this.removeIp(ip.address().getAddress(), ip.prefixLength(), ip) != null;
+        }
+        return false;
+    }
+
+    private void expire() {
+        final Instant now = this.clock.instant();
+        if (now.isBefore(this.nextExpiration)) {
+            return;
+        }
+        this.lock.writeLock().lock();
+        try {
+            @Nullable Ban ban;
+            while ((ban = this.expirations.peek()) != null && !now.isBefore(ban.expirationDate().orElse(Instant.MAX))) {
+                this.expirations.poll();
+                // Bans that were replaced or pardoned are only removed from
+                // the queue as they expire
+                this.removeIfPresent(ban);
+            }
+            this.nextExpiration = ban == null ? Instant.MAX : ban.expirationDate().orElse(Instant.MAX);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    private Collection<Ban> activeBans() {
+        final List<Ban> bans = new ArrayList<>(this.profileBans.values());
+        final List<Ban.IP> ipBans = new ArrayList<>();
+        this.ipv4.collect(ipBans);
+        this.ipv6.collect(ipBans);
+        bans.addAll(ipBans);
+        return bans;
+    }
+
+    private IpNode root(final byte[] address) {
+        return address.length == 4 ? this.ipv4 : this.ipv6;
+    }
+
+    private static void checkSupported(final Ban ban) {
+        if (ban instanceof Ban.IP) {
+            final Ban.IP ip = (Ban.IP) ban;
+            final int prefixLength = ip.prefixLength();
+            if (prefixLength < 0 || prefixLength > ip.address().getAddress().length * Byte.SIZE) {
+                throw new IllegalArgumentException("Invalid prefix length for " + ip.address() + ": " + prefixLength);
+            }
+        } else if (!(ban instanceof Ban.Profile)) {
+            throw new IllegalArgumentException("Unsupported ban: " + ban);
+        }
+    }
+
+    private @Nullable IpNode ipNode(final byte[] address, final int prefixLength) {
+        IpNode node = this.root(address);
+        for (int depth = 0; depth < prefixLength; depth++) {
+            final @Nullable IpNode child = node.child(IndexedBanService.bit(address, depth));
+            if (child == null) {
+                return null;
+            }
+            node = child;
+        }
+        return node;
+    }
+
+    /**
+     * Removes the ban with the given prefix, if it is the expected ban or
+     * no ban is expected, and prunes the nodes which became empty.
+     *
+     * @return The removed ban
+     */
+    private Ban.@Nullable IP removeIp(final byte[] address, final int prefixLength, final Ban.@Nullable IP expected) {
+        final IpNode[] path = new IpNode[prefixLength + 1];
+        path[0] = this.root(address);
+        for (int depth = 0; depth < prefixLength; depth++) {
+            final @Nullable IpNode child = path[depth].child(IndexedBanService.bit(address, depth));
+            if (child == null) {
+                return null;
+            }
+            path[depth + 1] = child;
+        }
+        final Ban.@Nullable IP removed = path[prefixLength].ban;
+        if (removed == null || expected != null && !expected.equals(removed)) {
+            return null;
+        }
+        path[prefixLength].ban = null;
+        for (int depth = prefixLength; depth > 0 && path[depth].isEmpty(); depth--) {
+            if (IndexedBanService.bit(address, depth - 1) == 0) {
+                path[depth - 1].zero = null;
+            } else {
+                path[depth - 1].one = null;
+            }
+        }
+        return removed;
+    }
+
+    private static int bit(final byte[] address, final int index) {
+        return (address[index >>> 3] >>> (7 - (index & 7))) & 1;
+    }
+
+    private void append(final byte operation, final Ban ban) {
+        if (this.log == null) {
+            return;
+        }
+        try {
+            IndexedBanService.write(this.log, operation, ban);
+            this.log.flush();
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Could not persist ban " + ban, e);
+        }
+    }
+
+    private void replay(final DataInputStream in, final Decoder decoder) throws IOException {
+        while (true) {
+            final byte operation;
+            final Ban ban;
+            try {
+                operation = in.readByte();
+                ban = IndexedBanService.read(in, decoder);
+            } catch (final EOFException e) {
+                // The end of the log, or a record torn by a crash
+                return;
+            }
+            if (operation == IndexedBanService.ADD) {
+                this.put(ban);
+            } else if (ban instanceof Ban.Profile) {
+                this.profileBans.remove(((Ban.Profile) ban).profile().uniqueId());
+            } else {
+                final Ban.IP ip = (Ban.IP) ban;
+                this.removeIp(ip.address().getAddress(), ip.prefixLength(), null);
+            }
+        }
+    }
+
+    private static void write(final DataOutputStream out, final byte operation, final Ban ban) throws IOException {
+        out.writeByte(operation);
+        if (ban instanceof Ban.Profile) {
+            final GameProfile profile = ((Ban.Profile) ban).profile();
+            out.writeByte(IndexedBanService.PROFILE);
+            out.writeLong(profile.uniqueId().getMostSignificantBits());
+            out.writeLong(profile.uniqueId().getLeastSignificantBits());
+            IndexedBanService.writeNullable(out, profile.name().orElse(null));
+        } else {
+            final Ban.IP ip = (Ban.IP) ban;
+            final byte[] address = ip.address().getAddress();
+            out.writeByte(IndexedBanService.IP);
+            out.writeByte(address.length);
+            out.write(address);
+            out.writeByte(ip.prefixLength());
+        }
+        out.writeLong(ban.creationDate().getEpochSecond());
+        out.writeInt(ban.creationDate().getNano());
+        final @Nullable Instant expiration = ban.expirationDate().orElse(null);
+        out.writeBoolean(expiration != null);
+        if (expiration != null) {
+            out.writeLong(expiration.getEpochSecond());
+            out.writeInt(expiration.getNano());
+        }
+        IndexedBanService.writeNullable(out, ban.reason().map(GsonComponentSerializer.gson()::serialize).orElse(null));
+        IndexedBanService.writeNullable(out, ban.banSource().map(GsonComponentSerializer.gson()::serialize).orElse(null));
+    }
+
+    private static Ban read(final DataInputStream in, final Decoder decoder) throws IOException {
+        final byte type = in.readByte();
+        final @Nullable UUID uniqueId;
+        final @Nullable String name;
+        final @Nullable InetAddress address;
+        final int prefixLength;
+        if (type == IndexedBanService.PROFILE) {
+            uniqueId = new UUID(in.readLong(), in.readLong());
+            name = IndexedBanService.readNullable(in);
+            address = null;
+            prefixLength = 0;
+        } else if (type == IndexedBanService.IP) {
+            final byte[] bytes = new byte[in.readUnsignedByte()];
+            in.readFully(bytes);
+            uniqueId = null;
+            name = null;
+            address = InetAddress.getByAddress(bytes);
+            prefixLength = in.readUnsignedByte();
+        } else {
+            throw new IOException("Unknown ban type in log: " + type);
+        }
+        final Instant start = Instant.ofEpochSecond(in.readLong(), in.readInt());
+        final @Nullable Instant expiration = in.readBoolean() ? Instant.ofEpochSecond(in.readLong(), in.readInt()) : null;
+        final @Nullable String reason = IndexedBanService.readNullable(in);
+        final @Nullable String source = IndexedBanService.readNullable(in);
+        final @Nullable Component reasonComponent = reason == null ? null : GsonComponentSerializer.gson().deserialize(reason);
+        final @Nullable Component sourceComponent = source == null ? null : GsonComponentSerializer.gson().deserialize(source);
+        if (uniqueId != null) {
+            return decoder.profile(uniqueId, name, start, expiration, reasonComponent, sourceComponent);
+        }
+        return decoder.ip(Objects.requireNonNull(address), prefixLength, start, expiration, reasonComponent, sourceComponent);
+    }
+
+    private static void writeNullable(final DataOutputStream out, final @Nullable String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static @Nullable String readNullable(final DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /**
+     * Creates the bans which are read from a log.
+     */
+    interface Decoder {
+
+        Ban profile(UUID uniqueId, @Nullable String name, Instant start, @Nullable Instant expiration, @Nullable Component reason,
+                @Nullable Component source);
+
+        Ban ip(InetAddress address, int prefixLength, Instant start, @Nullable Instant expiration, @Nullable Component reason,
+                @Nullable Component source);
+    }
+
+    /**
+     * Creates bans through the {@link Ban#builder() ban builder} of the
+     * platform.
+     */
+    private static final class BuilderDecoder implements Decoder {
+
+        static final BuilderDecoder INSTANCE = new BuilderDecoder();
+
+        @Override
+        public Ban profile(final UUID uniqueId, final @Nullable String name, final Instant start, final @Nullable Instant expiration,
+                final @Nullable Component reason, final @Nullable Component source) {
+            final Ban.Builder builder = Ban.builder().type(BanTypes.PROFILE).profile(GameProfile.of(uniqueId, name));
+            return BuilderDecoder.build(builder, start, expiration, reason, source);
+        }
+
+        @Override
+        public Ban ip(final InetAddress address, final int prefixLength, final Instant start, final @Nullable Instant expiration,
+                final @Nullable Component reason, final @Nullable Component source) {
+            final Ban.Builder builder = Ban.builder().type(BanTypes.IP).address(address, prefixLength);
+            return BuilderDecoder.build(builder, start, expiration, reason, source);
+        }
+
+        private static Ban build(final Ban.Builder builder, final Instant start, final @Nullable Instant expiration,
+                final @Nullable Component reason, final @Nullable Component source) {
+            return builder.startDate(start).expirationDate(expiration).reason(reason).source(source).build();
+        }
+    }
+
+    private static final class IpNode {
+
+        @Nullable IpNode zero;
+        @Nullable IpNode one;
+        Ban.@Nullable IP ban;
+
+        @Nullable IpNode child(final int bit) {
+            return bit == 0 ? this.zero : this.one;
+        }
+
+        boolean isEmpty() {
+            return this.ban == null && this.zero == null && this.one == null;
+        }
+
+        void collect(final List<Ban.IP> bans) {
+            if (this.ban != null) {
+                bans.add(this.ban);
+            }
+            if (this.zero != null) {
+                this.zero.collect(bans);
+            }
+            if (this.one != null) {
+                this.one.collect(bans);
+            }
+        }
+    }
+}
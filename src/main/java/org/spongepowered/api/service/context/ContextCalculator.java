@@ -64,6 +64,13 @@
  * (e.g. {@link Player}) are delegated to the active {@link ContextService}.
  * Plugins wishing to provide contexts for these instances should register
  * calculators here.</p>
+ *
+ * <p>The contexts of a calculator are recalculated on every lookup, unless
+ * it is {@link #isChangeDriven() change driven}. The contexts of a change
+ * driven calculator are remembered per {@link Cause#root() root} of the
+ * cause, and only recalculated once {@link ContextService#signalUpdate(Object)}
+ * has been called for that root, for example when the world or the game mode
+ * of a player changes.</p>
  */
 @FunctionalInterface
 public interface ContextCalculator {
@@ -88,6 +95,28 @@ static ContextCalculator forSingleContext(final String key, final Function<Cause
         };
     }
 
+    /**
+     * Wraps the given calculator into one which is
+     * {@link #isChangeDriven() change driven}.
+     *
+     * @param calculator The calculator to wrap
+     * @return The change driven calculator
+     */
+    static ContextCalculator changeDriven(final ContextCalculator calculator) {
+        Objects.requireNonNull(calculator, "calculator");
+        return new ContextCalculator() {
+            @Override
+            public void accumulateContexts(final Cause source, final Consumer<Context> accumulator) {
+                calculator.accumulateContexts(source, accumulator);
+            }
+
+            @Override
+            public boolean isChangeDriven() {
+                return true;
+            }
+        };
+    }
+
     /**
      * Adds any {@link Context}s this calculator determines to be applicable to
      * the {@code target} contextual.
@@ -106,4 +135,20 @@ static ContextCalculator forSingleContext(final String key, final Function<Cause
      */
     void accumulateContexts(final Cause source, final Consumer<Context> accumulator);
 
+    /**
+     * Gets whether the contexts of this calculator only depend on the
+     * {@link Cause#root() root} of the cause, and only change when this
+     * calculator or another party calls
+     * {@link ContextService#signalUpdate(Object)} for that root.
+     *
+     * <p>The {@link ContextService} only recalculates the contexts of a
+     * change driven calculator after such a signal, rather than on every
+     * lookup.</p>
+     *
+     * @return Whether this calculator is change driven
+     */
+    default boolean isChangeDriven() {
+        return false;
+    }
+
 }
@@ -43,6 +43,14 @@
  * [the context of the entry] is a subset of [the context provided in the
  * query], or programmatically if [the context provided in the query]
  * {@link Set#containsAll(Collection)} of [the context of the entry].</p>
+ *
+ * <p>Implementations may remember the contexts extracted from a cause, by the
+ * {@link Cause#root() root} of the cause, for the remainder of the current
+ * tick, such that repeated lookups within a tick do not run every
+ * {@link ContextCalculator} again. The contexts of
+ * {@link ContextCalculator#isChangeDriven() change driven} calculators may
+ * be remembered beyond the current tick, until
+ * {@link #signalUpdate(Object)} is called for the root.</p>
  */
 public interface ContextService {
 
@@ -68,4 +76,19 @@ public interface ContextService {
      */
     void registerContextCalculator(ContextCalculator calculator);
 
+    /**
+     * Signals that the contexts of the given cause root may have changed,
+     * such that any contexts remembered for it are calculated again on the
+     * next lookup.
+     *
+     * <p>This should be called by the owner of a
+     * {@link ContextCalculator#isChangeDriven() change driven}
+     * {@link ContextCalculator} whenever an input of the calculator changes
+     * for a root, such as the world or game mode of a player.</p>
+     *
+     * @param root The root of the causes of which the contexts changed
+     */
+    default void signalUpdate(final Object root) {
+    }
+
 }
@@ -24,12 +24,20 @@
  */
 package org.spongepowered.api.service.economy;
 
+import org.spongepowered.api.event.Cause;
 import org.spongepowered.api.service.economy.account.Account;
 import org.spongepowered.api.service.economy.account.AccountDeletionResultType;
+import org.spongepowered.api.service.economy.account.AccountLocks;
 import org.spongepowered.api.service.economy.account.UniqueAccount;
 import org.spongepowered.api.service.economy.account.VirtualAccount;
+import org.spongepowered.api.service.economy.transaction.ResultType;
+import org.spongepowered.api.service.economy.transaction.Settlement;
+import org.spongepowered.api.service.economy.transaction.SettlementResult;
+import org.spongepowered.api.service.economy.transaction.TransactionResult;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Stream;
@@ -158,4 +166,93 @@ public interface EconomyService {
      * @return The result of the deletion.
      */
     AccountDeletionResultType deleteAccount(String identifier);
+
+    /**
+     * Settles the given {@link Settlement}, executing its legs and reverting
+     * the executed legs once a leg fails.
+     *
+     * <p>Settling is not atomic. Other transactions of the accounts may
+     * observe the balances between two legs, and reverting a leg is itself a
+     * transaction which may fail. Whether every executed leg was reverted
+     * after a failure is reported by {@link SettlementResult#isConsistent()}.
+     * If a leg throws an exception, the executed legs are reverted before it
+     * is rethrown, with an {@link IllegalStateException} added as suppressed
+     * exception if not every leg could be reverted.</p>
+     *
+     * <p>This method is safe to call from any thread. The default
+     * implementation locks all the accounts of the settlement through the
+     * {@link AccountLocks#shared() shared} {@link AccountLocks} while it
+     * executes the legs. This only excludes other settlements, transactions
+     * made directly through an {@link Account} may interleave with the legs.
+     * Implementations should override this method to also exclude the other
+     * transactions of the accounts.</p>
+     *
+     * @param settlement The settlement
+     * @param cause The cause of the settlement
+     * @return The result of the settlement
+     */
+    default SettlementResult settle(final Settlement settlement, final Cause cause) {
+        final List<Settlement.Leg> legs = new ArrayList<>(settlement.legs().size());
+        final List<Account> accounts = new ArrayList<>(settlement.legs().size());
+        for (final Settlement.Leg leg : settlement.legs()) {
+            if (leg.isDebit()) {
+                legs.add(leg);
+            }
+            accounts.add(leg.account());
+        }
+        for (final Settlement.Leg leg : settlement.legs()) {
+            if (!leg.isDebit()) {
+                legs.add(leg);
+            }
+        }
+        return AccountLocks.shared().withLocks(accounts, () -> {
+            final List<TransactionResult> results = new ArrayList<>(legs.size());
+            final List<TransactionResult> reverts = new ArrayList<>();
+            try {
+                for (final Settlement.Leg leg : legs) {
+                    final TransactionResult result = leg.isDebit()
+                            ? leg.account().withdraw(leg.currency(), leg.amount(), cause)
+                            : leg.account().deposit(leg.currency(), leg.amount(), cause);
+                    results.add(result);
+                    if (result.result() != ResultType.SUCCESS) {
+                        // The failed leg itself took no effect
+                        return EconomyService.revert(legs, results.size() - 1, cause, reverts)
+                                ? SettlementResult.of(settlement, result.result(), results, reverts)
+                                : SettlementResult.inconsistent(settlement, result.result(), results, reverts);
+                    }
+                }
+                return SettlementResult.of(settlement, ResultType.SUCCESS, results);
+            } catch (final RuntimeException e) {
+                if (!EconomyService.revert(legs, results.size(), cause, reverts)) {
+                    e.addSuppressed(new IllegalStateException("Could not revert every executed leg of the settlement "
+                            + settlement.legs() + ", reverts: " + reverts));
+                }
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * Reverts the given amount of executed legs, in the reverse order.
+     *
+     * @return Whether every leg was reverted
+     */
+    private static boolean revert(final List<Settlement.Leg> legs, final int executed, final Cause cause,
+            final List<TransactionResult> reverts) {
+        boolean reverted = true;
+        for (int i = executed - 1; i >= 0; i--) {
+            final Settlement.Leg leg = legs.get(i);
+            try {
+                final TransactionResult result = leg.isDebit()
+                        ? leg.account().deposit(leg.currency(), leg.amount(), cause)
+                        : leg.account().withdraw(leg.currency(), leg.amount(), cause);
+                final boolean success = result.result() == ResultType.SUCCESS;
+                reverts.add(result);
+                reverted &= success;
+            } catch (final RuntimeException e) {
+                reverted = false;
+            }
+        }
+        return reverted;
+    }
 }
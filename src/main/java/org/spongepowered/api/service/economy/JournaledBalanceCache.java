@@ -0,0 +1,726 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.service.economy;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.service.economy.account.Account;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * An in-memory cache of {@link Account} balances, for use by
+ * {@link EconomyService}s that store balances in a slow backing store, such
+ * as a remote database.
+ *
+ * <p>Balances are read from and modified in memory. Every modification is
+ * appended to a local journal before it becomes visible, and modified
+ * balances are written to the {@link Backend} in batches on a background
+ * thread. Balances are identified by an account identifier and a currency
+ * identifier, both chosen by the service.</p>
+ *
+ * <p>The balances of an account are loaded from the backend when they are
+ * first needed. The synchronous methods load them on the calling thread,
+ * the asynchronous variants such as
+ * {@link #addAsync(String, String, BigDecimal, boolean)} load them on the
+ * background thread of the cache instead.</p>
+ *
+ * <p>The journal is split into segments. Each flush starts a new segment,
+ * and the segments before it are deleted once the backend stored the batch.
+ * When the cache is {@link Builder#build(Path, Backend) created}, any segments
+ * left behind by a crash are replayed and stored to the backend first, so
+ * no modification which was journaled is lost.</p>
+ */
+public final class JournaledBalanceCache implements AutoCloseable {
+
+    private static final String SEGMENT_PREFIX = "balances-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final int ACCOUNT_LOCKS = 64;
+
+    /**
+     * Creates a new builder for a {@link JournaledBalanceCache}.
+     *
+     * @return The new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private final Backend backend;
+    private final Path directory;
+    private final boolean syncWrites;
+    private final ScheduledExecutorService scheduler;
+    private final boolean ownsScheduler;
+    private final ScheduledFuture<?> flushTask;
+
+    private final ConcurrentMap<String, Boolean> loadedAccounts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Key, BigDecimal> balances = new ConcurrentHashMap<>();
+
+    private final Object flushLock = new Object();
+    // Serializes the modifications of the accounts hashed to each lock, such
+    // that the balances read by a modification are not changed or
+    // invalidated before it is recorded
+    private final Object[] accountLocks = new Object[JournaledBalanceCache.ACCOUNT_LOCKS];
+    // Guards the journal, the only lock held while doing I/O. Acquired
+    // before the state lock, such that a modification journaled in a
+    // segment is always part of the batch flushed when leaving the segment
+    private final Object journalLock = new Object();
+    // Guards the loaded accounts and the dirty balances, never held while
+    // doing I/O
+    private final Object stateLock = new Object();
+    private final Map<String, Object> loading = new HashMap<>();
+    private Map<Key, BigDecimal> dirty = new HashMap<>();
+    private Map<Key, BigDecimal> flushing = new HashMap<>();
+    private long segment;
+    private FileChannel channel;
+    private DataOutputStream journal;
+    private boolean closed;
+
+    private JournaledBalanceCache(final Builder builder, final Backend backend, final Path directory) throws IOException {
+        this.backend = backend;
+        this.directory = directory;
+        this.syncWrites = builder.syncWrites;
+        for (int i = 0; i < this.accountLocks.length; i++) {
+            this.accountLocks[i] = new Object();
+        }
+        Files.createDirectories(directory);
+        this.segment = this.recover() + 1;
+        this.channel = this.openSegment(this.segment);
+        this.journal = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(this.channel)));
+        this.ownsScheduler = builder.scheduler == null;
+        this.scheduler = builder.scheduler == null ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "Balance Journal Flusher");
+            thread.setDaemon(true);
+            return thread;
+        }) : builder.scheduler;
+        final long interval = builder.flushInterval.toNanos();
+        this.flushTask = this.scheduler.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the balance of the given account in the given currency.
+     *
+     * @param account The account identifier
+     * @param currency The currency identifier
+     * @return The balance
+     */
+    public BigDecimal balance(final String account, final String currency) {
+        final Key key = new Key(account, currency);
+        final @Nullable BigDecimal balance = this.balances.get(key);
+        if (balance != null && this.loadedAccounts.containsKey(account)) {
+            return balance;
+        }
+        return this.whenLoaded(account, () -> this.balances.getOrDefault(key, BigDecimal.ZERO));
+    }
+
+    /**
+     * Gets the balance of the given account in the given currency, loading
+     * the balances of the account on the background thread of this cache if
+     * they are not loaded yet.
+     *
+     * @param account The account identifier
+     * @param currency The currency identifier
+     * @return A future which completes with the balance
+     */
+    public CompletableFuture<BigDecimal> balanceAsync(final String account, final String currency) {
+        final Key key = new Key(account, currency);
+        return this.whenLoadedAsync(account, () -> this.balances.getOrDefault(key, BigDecimal.ZERO));
+    }
+
+    /**
+     * Adds the given amount, which may be negative, to the balance of the
+     * given account in the given currency.
+     *
+     * @param account The account identifier
+     * @param currency The currency identifier
+     * @param amount The amount to add
+     * @param allowNegative Whether the resulting balance may be negative
+     * @return The new balance, or {@link Optional#empty()} if the balance
+     *     would have become negative
+     */
+    public Optional<BigDecimal> add(final String account, final String currency, final BigDecimal amount,
+            final boolean allowNegative) {
+        Objects.requireNonNull(amount, "amount");
+        final Key key = new Key(account, currency);
+        return this.whenLoaded(account, () -> this.addLoaded(key, amount, allowNegative));
+    }
+
+    /**
+     * Adds the given amount, which may be negative, to the balance of the
+     * given account in the given currency, loading the balances of the
+     * account on the background thread of this cache if they are not loaded
+     * yet.
+     *
+     * @param account The account identifier
+     * @param currency The currency identifier
+     * @param amount The amount to add
+     * @param allowNegative Whether the resulting balance may be negative
+     * @return A future which completes with the new balance, or
+     *     {@link Optional#empty()} if the balance would have become negative
+     */
+    public CompletableFuture<Optional<BigDecimal>> addAsync(final String account, final String currency, final BigDecimal amount,
+            final boolean allowNegative) {
+        Objects.requireNonNull(amount, "amount");
+        final Key key = new Key(account, currency);
+        return this.whenLoadedAsync(account, () -> this.addLoaded(key, amount, allowNegative));
+    }
+
+    /**
+     * Sets the balance of the given account in the given currency.
+     *
+     * @param account The account identifier
+     * @param currency The currency identifier
+     * @param amount The new balance
+     */
+    public void set(final String account, final String currency, final BigDecimal amount) {
+        Objects.requireNonNull(amount, "amount");
+        final Key key = new Key(account, currency);
+        this.whenLoaded(account, () -> this.setLoaded(key, amount));
+    }
+
+    /**
+     * Sets the balance of the given account in the given currency, loading
+     * the balances of the account on the background thread of this cache if
+     * they are not loaded yet.
+     *
+     * @param account The account identifier
+     * @param currency The currency identifier
+     * @param amount The new balance
+     * @return A future which completes once the balance is set
+     */
+    public CompletableFuture<Void> setAsync(final String account, final String currency, final BigDecimal amount) {
+        Objects.requireNonNull(amount, "amount");
+        final Key key = new Key(account, currency);
+        return this.whenLoadedAsync(account, () -> this.setLoaded(key, amount)).thenApply(ignored -> null);
+    }
+
+    /**
+     * Removes the cached balances of the given account, which are loaded
+     * from the backend again when next needed. Modified balances that were
+     * not yet flushed remain cached.
+     *
+     * @param account The account identifier
+     */
+    public void invalidate(final String account) {
+        synchronized (this.accountLock(account)) {
+            synchronized (this.stateLock) {
+                // Loads which are in progress may have read outdated balances
+                this.loading.remove(account);
+                this.loadedAccounts.remove(account);
+                this.balances.keySet().removeIf(key -> key.account.equals(account)
+                        && !this.dirty.containsKey(key) && !this.flushing.containsKey(key));
+            }
+        }
+    }
+
+    /**
+     * Writes all modified balances to the backend, on the thread that
+     * flushes this cache.
+     *
+     * @return A future which completes once the balances are stored
+     */
+    public CompletableFuture<Void> flush() {
+        synchronized (this.journalLock) {
+            if (this.closed) {
+                // Closing flushed all balances that could be stored
+                return CompletableFuture.completedFuture(null);
+            }
+        }
+        return CompletableFuture.runAsync(() -> {
+            try {
+                this.flushNow();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, this.scheduler);
+    }
+
+    /**
+     * Stops flushing periodically, writes all modified balances to the
+     * backend and closes the journal. Modifying balances afterwards throws
+     * an {@link IllegalStateException}.
+     *
+     * @throws IOException If the balances could not be stored
+     */
+    @Override
+    public void close() throws IOException {
+        this.flushTask.cancel(false);
+        try {
+            this.flushNow();
+        } finally {
+            synchronized (this.journalLock) {
+                this.closed = true;
+                this.journal.close();
+                final boolean clean;
+                synchronized (this.stateLock) {
+                    clean = this.dirty.isEmpty();
+                }
+                if (clean) {
+                    Files.deleteIfExists(this.directory.resolve(JournaledBalanceCache.SEGMENT_PREFIX + this.segment
+                            + JournaledBalanceCache.SEGMENT_SUFFIX));
+                }
+            }
+            if (this.ownsScheduler) {
+                this.scheduler.shutdown();
+            }
+        }
+    }
+
+    private Optional<BigDecimal> addLoaded(final Key key, final BigDecimal amount, final boolean allowNegative) {
+        final BigDecimal updated = this.balances.getOrDefault(key, BigDecimal.ZERO).add(amount);
+        if (!allowNegative && updated.signum() < 0) {
+            return Optional.empty();
+        }
+        this.record(key, updated);
+        return Optional.of(updated);
+    }
+
+    private Boolean setLoaded(final Key key, final BigDecimal amount) {
+        this.record(key, amount);
+        return Boolean.TRUE;
+    }
+
+    /**
+     * Runs the given action under the lock of the account once its balances
+     * are loaded, loading them on the calling thread if needed.
+     */
+    private <T> T whenLoaded(final String account, final Supplier<T> action) {
+        while (true) {
+            final @Nullable T result = this.ifLoaded(account, action);
+            if (result != null) {
+                return result;
+            }
+            this.load(account);
+        }
+    }
+
+    private <T> CompletableFuture<T> whenLoadedAsync(final String account, final Supplier<T> action) {
+        final @Nullable T result;
+        try {
+            result = this.ifLoaded(account, action);
+        } catch (final RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (result != null) {
+            return CompletableFuture.completedFuture(result);
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> this.whenLoaded(account, action), this.scheduler);
+        } catch (final RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private <T> @Nullable T ifLoaded(final String account, final Supplier<T> action) {
+        synchronized (this.accountLock(account)) {
+            return this.loadedAccounts.containsKey(account) ? action.get() : null;
+        }
+    }
+
+    private Object accountLock(final String account) {
+        return this.accountLocks[Math.floorMod(account.hashCode(), this.accountLocks.length)];
+    }
+
+    private void load(final String account) {
+        final Object token = new Object();
+        synchronized (this.stateLock) {
+            if (this.loadedAccounts.containsKey(account)) {
+                return;
+            }
+            this.loading.put(account, token);
+        }
+        final Map<String, BigDecimal> loaded;
+        try {
+            loaded = this.backend.load(account);
+        } catch (final RuntimeException e) {
+            synchronized (this.stateLock) {
+                this.loading.remove(account, token);
+            }
+            throw e;
+        }
+        synchronized (this.stateLock) {
+            // An invalidation or another load replaced the token, in which
+            // case the loaded balances may be outdated and are discarded
+            if (!this.loading.remove(account, token)) {
+                return;
+            }
+            for (final Map.Entry<String, BigDecimal> entry : loaded.entrySet()) {
+                // Balances modified in the meantime are newer than the loaded ones
+                this.balances.putIfAbsent(new Key(account, entry.getKey()), entry.getValue());
+            }
+            this.loadedAccounts.put(account, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Journals and applies a new balance, must be called under the lock of
+     * the account.
+     */
+    private void record(final Key key, final BigDecimal amount) {
+        synchronized (this.journalLock) {
+            if (this.closed) {
+                throw new IllegalStateException("The balance cache is closed");
+            }
+            try {
+                JournaledBalanceCache.write(this.journal, key, amount);
+                this.journal.flush();
+                if (this.syncWrites) {
+                    this.channel.force(false);
+                }
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Could not journal the balance of " + key.account, e);
+            }
+            synchronized (this.stateLock) {
+                this.dirty.put(key, amount);
+                this.balances.put(key, amount);
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            this.flushNow();
+        } catch (final IOException | RuntimeException ignored) {
+            // The balances remain dirty and are retried on the next flush
+        }
+    }
+
+    private void flushNow() throws IOException {
+        // Only one batch may be in flight, as storing a batch deletes all
+        // the journal segments before it
+        synchronized (this.flushLock) {
+            final Map<Key, BigDecimal> batch;
+            final long segment;
+            final DataOutputStream previous;
+            synchronized (this.journalLock) {
+                synchronized (this.stateLock) {
+                    if (this.dirty.isEmpty() || this.closed) {
+                        return;
+                    }
+                }
+                // Nothing is changed until the next segment is open, such
+                // that a failure leaves the current segment in use
+                final FileChannel channel = this.openSegment(this.segment + 1);
+                segment = ++this.segment;
+                previous = this.journal;
+                this.channel = channel;
+                this.journal = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+                synchronized (this.stateLock) {
+                    batch = this.dirty;
+                    this.flushing = batch;
+                    this.dirty = new HashMap<>();
+                }
+            }
+            try {
+                previous.close();
+            } catch (final IOException ignored) {
+                // Every record was flushed when written, and the previous
+                // segment is only deleted once the batch is stored
+            }
+            final List<Balance> balances = new ArrayList<>(batch.size());
+            batch.forEach((key, amount) -> balances.add(new Balance(key.account, key.currency, amount)));
+            try {
+                this.backend.store(balances);
+            } catch (final IOException | RuntimeException e) {
+                synchronized (this.stateLock) {
+                    // Modifications since the batch was taken are newer
+                    batch.forEach(this.dirty::putIfAbsent);
+                }
+                throw e;
+            } finally {
+                synchronized (this.stateLock) {
+                    this.flushing = new HashMap<>();
+                }
+            }
+            for (final Path path : this.segments().headMap(segment).values()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private long recover() throws IOException {
+        final TreeMap<Long, Path> segments = this.segments();
+        if (segments.isEmpty()) {
+            return 0;
+        }
+        final Map<Key, BigDecimal> replayed = new HashMap<>();
+        for (final Path path : segments.values()) {
+            try (final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+                while (true) {
+                    final String account;
+                    final String currency;
+                    final BigDecimal amount;
+                    try {
+                        account = in.readUTF();
+                        currency = in.readUTF();
+                        amount = new BigDecimal(in.readUTF());
+                    } catch (final EOFException e) {
+                        // The end of the segment, or a record torn by a crash
+                        break;
+                    }
+                    replayed.put(new Key(account, currency), amount);
+                }
+            }
+        }
+        if (!replayed.isEmpty()) {
+            final List<Balance> balances = new ArrayList<>(replayed.size());
+            replayed.forEach((key, amount) -> balances.add(new Balance(key.account, key.currency, amount)));
+            this.backend.store(balances);
+        }
+        for (final Path path : segments.values()) {
+            Files.delete(path);
+        }
+        return segments.lastKey();
+    }
+
+    private TreeMap<Long, Path> segments() throws IOException {
+        final TreeMap<Long, Path> segments = new TreeMap<>();
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory,
+                JournaledBalanceCache.SEGMENT_PREFIX + "*" + JournaledBalanceCache.SEGMENT_SUFFIX)) {
+            for (final Path path : stream) {
+                final String name = path.getFileName().toString();
+                try {
+                    segments.put(Long.parseLong(name.substring(JournaledBalanceCache.SEGMENT_PREFIX.length(),
+                            name.length() - JournaledBalanceCache.SEGMENT_SUFFIX.length())), path);
+                } catch (final NumberFormatException ignored) {
+                }
+            }
+        }
+        return segments;
+    }
+
+    private FileChannel openSegment(final long segment) throws IOException {
+        final Path path = this.directory.resolve(JournaledBalanceCache.SEGMENT_PREFIX + segment + JournaledBalanceCache.SEGMENT_SUFFIX);
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private static void write(final DataOutputStream out, final Key key, final BigDecimal amount) throws IOException {
+        out.writeUTF(key.account);
+        out.writeUTF(key.currency);
+        out.writeUTF(amount.toString());
+    }
+
+    /**
+     * The store in which balances are persisted.
+     */
+    public interface Backend {
+
+        /**
+         * Loads the balances of the given account, by currency identifier.
+         *
+         * @param account The account identifier
+         * @return The balances
+         */
+        Map<String, BigDecimal> load(String account);
+
+        /**
+         * Stores the given balances, replacing the stored balances of the
+         * same accounts and currencies.
+         *
+         * @param balances The balances to store
+         * @throws IOException If the balances could not be stored
+         */
+        void store(Collection<Balance> balances) throws IOException;
+    }
+
+    /**
+     * The balance of an account in a currency.
+     */
+    public static final class Balance {
+
+        private final String account;
+        private final String currency;
+        private final BigDecimal amount;
+
+        Balance(final String account, final String currency, final BigDecimal amount) {
+            this.account = account;
+            this.currency = currency;
+            this.amount = amount;
+        }
+
+        /**
+         * Gets the identifier of the account.
+         *
+         * @return The account identifier
+         */
+        public String account() {
+            return this.account;
+        }
+
+        /**
+         * Gets the identifier of the currency.
+         *
+         * @return The currency identifier
+         */
+        public String currency() {
+            return this.currency;
+        }
+
+        /**
+         * Gets the amount of the balance.
+         *
+         * @return The amount
+         */
+        public BigDecimal amount() {
+            return this.amount;
+        }
+
+        @Override
+        public String toString() {
+            return new StringJoiner(", ", Balance.class.getSimpleName() + "[", "]")
+                .add("account=" + this.account)
+                .add("currency=" + this.currency)
+                .add("amount=" + this.amount)
+                .toString();
+        }
+    }
+
+    private static final class Key {
+
+        final String account;
+        final String currency;
+
+        Key(final String account, final String currency) {
+            this.account = Objects.requireNonNull(account, "account");
+            this.currency = Objects.requireNonNull(currency, "currency");
+        }
+
+        @Override
+        public boolean equals(final @Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key that = (Key) o;
+            return this.account.equals(that.account) && this.currency.equals(that.currency);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.account.hashCode() + this.currency.hashCode();
+        }
+    }
+
+    public static final class Builder {
+
+        @Nullable ScheduledExecutorService scheduler;
+        Duration flushInterval = Duration.ofSeconds(5);
+        boolean syncWrites;
+
+        Builder() {
+        }
+
+        /**
+         * Sets the interval at which modified balances are written to the
+         * backend, defaults to 5 seconds.
+         *
+         * @param flushInterval The flush interval
+         * @return This builder, for chaining
+         */
+        public Builder flushInterval(final Duration flushInterval) {
+            Objects.requireNonNull(flushInterval, "flushInterval");
+            if (flushInterval.isNegative() || flushInterval.isZero()) {
+                throw new IllegalArgumentException("The flush interval must be positive");
+            }
+            this.flushInterval = flushInterval;
+            return this;
+        }
+
+        /**
+         * Sets whether every journal write is forced to the storage device,
+         * such that modifications also survive a loss of power rather than
+         * only a crash of the server. Defaults to {@code false}.
+         *
+         * @param syncWrites Whether to sync journal writes
+         * @return This builder, for chaining
+         */
+        public Builder syncWrites(final boolean syncWrites) {
+            this.syncWrites = syncWrites;
+            return this;
+        }
+
+        /**
+         * Sets the scheduler on which balances are flushed, and on which the
+         * asynchronous methods load balances. By default a single daemon
+         * thread is created for the cache, which is shut down when the cache
+         * is closed.
+         *
+         * @param scheduler The scheduler
+         * @return This builder, for chaining
+         */
+        public Builder scheduler(final ScheduledExecutorService scheduler) {
+            this.scheduler = Objects.requireNonNull(scheduler, "scheduler");
+            return this;
+        }
+
+        /**
+         * Creates a new {@link JournaledBalanceCache} which journals to the
+         * given directory and stores balances in the given backend. Journal
+         * segments left in the directory are replayed first.
+         *
+         * @param directory The journal directory
+         * @param backend The backend
+         * @return The balance cache
+         * @throws IOException If the journal could not be replayed or opened
+         */
+        public JournaledBalanceCache build(final Path directory, final Backend backend) throws IOException {
+            return new JournaledBalanceCache(this, Objects.requireNonNull(backend, "backend"),
+                    Objects.requireNonNull(directory, "directory"));
+        }
+    }
+}
@@ -40,6 +40,7 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Represents an account, which stores amounts of various {@link Currency currencies}.
@@ -54,6 +55,15 @@
  * value. They are not tied to any {@link Entity}, player or otherwise. Virtual
  * accounts may be used for purposes such as bank accounts, non-player
  * {@link Entity} accounts, or other things.</p>
+ *
+ * <p>The balance and transaction methods complete synchronously. Economy
+ * services which store balances in slow storage should override the
+ * asynchronous variants, such as
+ * {@link #depositAsync(Currency, BigDecimal, Cause)}, to complete them off
+ * the calling thread, so plugins making many transactions can avoid
+ * blocking the server thread. The default implementations of the
+ * asynchronous variants run synchronously on the calling thread and return
+ * an already completed future.</p>
  */
 public interface Account extends Contextual {
 
@@ -493,4 +503,120 @@ default TransactionResult withdraw(Currency currency, BigDecimal amount) {
     default TransferResult transfer(Account to, Currency currency, BigDecimal amount) {
         return this.transfer(to, currency, amount, this.contextCause());
     }
+
+    /**
+     * Gets the balance of this account for the specified {@link Currency},
+     * using the specified {@link Cause}, without blocking the calling thread.
+     *
+     * <p>By default the balance is looked up synchronously on the calling thread,
+     * which is blocked until it completes. Exceptions are reported through
+     * the returned future rather than thrown.</p>
+     *
+     * @param currency The {@link Currency} to get the balance for
+     * @param cause The cause to use to compute context with the
+     *     specified {@link Currency}
+     * @return A future of the balance
+     */
+    default CompletableFuture<BigDecimal> balanceAsync(final Currency currency, final Cause cause) {
+        try {
+            return CompletableFuture.completedFuture(this.balance(currency, cause));
+        } catch (final RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Sets the balance for this account to the specified amount for the
+     * specified {@link Currency}, using the specified {@link Cause}, without
+     * blocking the calling thread.
+     *
+     * <p>By default the transaction is made synchronously on the calling thread,
+     * which is blocked until it completes. Exceptions are reported through
+     * the returned future rather than thrown.</p>
+     *
+     * @param currency The {@link Currency} to set the balance for
+     * @param amount The amount to set for the specified {@link Currency}
+     * @param cause The cause to use to compute context with the
+     *     specified {@link Currency}
+     * @return A future of the result of the transaction
+     */
+    default CompletableFuture<TransactionResult> setBalanceAsync(final Currency currency, final BigDecimal amount, final Cause cause) {
+        try {
+            return CompletableFuture.completedFuture(this.setBalance(currency, amount, cause));
+        } catch (final RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Deposits the specified amount of the specified {@link Currency} to
+     * this account, using the specified {@link Cause}, without blocking the
+     * calling thread.
+     *
+     * <p>By default the transaction is made synchronously on the calling thread,
+     * which is blocked until it completes. Exceptions are reported through
+     * the returned future rather than thrown.</p>
+     *
+     * @param currency The {@link Currency} to deposit the specified amount for
+     * @param amount The amount to deposit for the specified {@link Currency}
+     * @param cause The cause to use to compute context with the
+     *     specified {@link Currency}
+     * @return A future of the result of the transaction
+     */
+    default CompletableFuture<TransactionResult> depositAsync(final Currency currency, final BigDecimal amount, final Cause cause) {
+        try {
+            return CompletableFuture.completedFuture(this.deposit(currency, amount, cause));
+        } catch (final RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Withdraws the specified amount of the specified {@link Currency} from
+     * this account, using the specified {@link Cause}, without blocking the
+     * calling thread.
+     *
+     * <p>By default the transaction is made synchronously on the calling thread,
+     * which is blocked until it completes. Exceptions are reported through
+     * the returned future rather than thrown.</p>
+     *
+     * @param currency The {@link Currency} to withdraw the specified amount for
+     * @param amount The amount to withdraw for the specified {@link Currency}
+     * @param cause The cause to use to compute context with the
+     *     specified {@link Currency}
+     * @return A future of the result of the transaction
+     */
+    default CompletableFuture<TransactionResult> withdrawAsync(final Currency currency, final BigDecimal amount, final Cause cause) {
+        try {
+            return CompletableFuture.completedFuture(this.withdraw(currency, amount, cause));
+        } catch (final RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Transfers the specified amount of the specified {@link Currency}
+     * from this account the destination account, using the specified
+     * {@link Cause}, without blocking the calling thread.
+     *
+     * <p>By default the transfer is made synchronously on the calling thread,
+     * which is blocked until it completes. Exceptions are reported through
+     * the returned future rather than thrown.</p>
+     *
+     * @param to the Account to transfer the amounts to.
+     * @param currency The {@link Currency} to transfer the specified amount for
+     * @param amount The amount to transfer for the specified {@link Currency}
+     * @param cause The cause to use with the
+     *     specified {@link Currency} and account
+     * @return A future of the {@link TransferResult} representative of the
+     *     effects of the operation
+     */
+    default CompletableFuture<TransferResult> transferAsync(final Account to, final Currency currency, final BigDecimal amount,
+            final Cause cause) {
+        try {
+            return CompletableFuture.completedFuture(this.transfer(to, currency, amount, cause));
+        } catch (final RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 }
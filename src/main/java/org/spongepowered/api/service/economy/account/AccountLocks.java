@@ -0,0 +1,116 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.service.economy.account;
+
+import org.spongepowered.api.service.economy.EconomyService;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * A fixed set of locks, of which each {@link Account} is assigned one by
+ * its {@link Account#identifier() identifier}, used by
+ * {@link EconomyService}s to keep transactions spanning several accounts
+ * from interleaving with each other.
+ *
+ * <p>The locks of several accounts are always acquired in the same order,
+ * so operations locking overlapping sets of accounts cannot deadlock. As
+ * accounts share locks, unrelated accounts may occasionally wait on each
+ * other; more stripes make that less likely.</p>
+ */
+public final class AccountLocks {
+
+    private static final AccountLocks SHARED = new AccountLocks(256);
+
+    /**
+     * Gets the locks shared by the default implementations of the
+     * {@link EconomyService}.
+     *
+     * @return The shared locks
+     */
+    public static AccountLocks shared() {
+        return AccountLocks.SHARED;
+    }
+
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    /**
+     * Creates a new set of locks, the amount of stripes is rounded up to a
+     * power of two.
+     *
+     * @param stripes The amount of stripes
+     */
+    public AccountLocks(final int stripes) {
+        if (stripes < 1 || stripes > 1 << 16) {
+            throw new IllegalArgumentException("The amount of stripes must be between 1 and 65536: " + stripes);
+        }
+        final int size = Integer.highestOneBit(stripes - 1) << 1;
+        this.locks = new ReentrantLock[Math.max(1, size)];
+        for (int i = 0; i < this.locks.length; i++) {
+            this.locks[i] = new ReentrantLock();
+        }
+        this.mask = this.locks.length - 1;
+    }
+
+    /**
+     * Runs the given operation while holding the locks of all the given
+     * accounts.
+     *
+     * @param accounts The accounts to lock
+     * @param operation The operation to run
+     * @param <T> The type of the result
+     * @return The result of the operation
+     */
+    public <T> T withLocks(final Collection<? extends Account> accounts, final Supplier<T> operation) {
+        final int[] stripes = new int[accounts.size()];
+        int count = 0;
+        for (final Account account : accounts) {
+            stripes[count++] = this.stripe(account);
+        }
+        Arrays.sort(stripes);
+        int locked = 0;
+        try {
+            for (int i = 0; i < count; i++) {
+                if (i == 0 || stripes[i] != stripes[i - 1]) {
+                    this.locks[stripes[i]].lock();
+                    stripes[locked++] = stripes[i];
+                }
+            }
+            return operation.get();
+        } finally {
+            while (locked > 0) {
+                this.locks[stripes[--locked]].unlock();
+            }
+        }
+    }
+
+    private int stripe(final Account account) {
+        final int hash = account.identifier().hashCode() * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & this.mask;
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.service.economy.transaction;
+
+import org.spongepowered.api.event.Cause;
+import org.spongepowered.api.service.economy.Currency;
+import org.spongepowered.api.service.economy.EconomyService;
+import org.spongepowered.api.service.economy.account.Account;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * A set of debits and credits across any number of {@link Account}s, which
+ * are {@link EconomyService#settle(Settlement, Cause) settled} together: if
+ * one of them fails, the ones that were already executed are reverted.
+ * Settling is not atomic, as reverting may fail as well, which the
+ * {@link SettlementResult} reports.
+ *
+ * <p>Debits are executed before credits, such that an account with
+ * insufficient funds fails the settlement before any account is
+ * credited.</p>
+ */
+public final class Settlement {
+
+    /**
+     * Creates a new builder to create a {@link Settlement}.
+     *
+     * @return The new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private final List<Leg> legs;
+
+    Settlement(final List<Leg> legs) {
+        this.legs = Collections.unmodifiableList(new ArrayList<>(legs));
+    }
+
+    /**
+     * Gets the legs of this settlement, in the order they were added.
+     *
+     * @return The legs
+     */
+    public List<Leg> legs() {
+        return this.legs;
+    }
+
+    /**
+     * A single debit or credit of a {@link Settlement}.
+     */
+    public static final class Leg {
+
+        private final Account account;
+        private final Currency currency;
+        private final BigDecimal amount;
+        private final boolean debit;
+
+        Leg(final Account account, final Currency currency, final BigDecimal amount, final boolean debit) {
+            this.account = account;
+            this.currency = currency;
+            this.amount = amount;
+            this.debit = debit;
+        }
+
+        /**
+         * Gets the account of this leg.
+         *
+         * @return The account
+         */
+        public Account account() {
+            return this.account;
+        }
+
+        /**
+         * Gets the currency of this leg.
+         *
+         * @return The currency
+         */
+        public Currency currency() {
+            return this.currency;
+        }
+
+        /**
+         * Gets the positive amount of this leg.
+         *
+         * @return The amount
+         */
+        public BigDecimal amount() {
+            return this.amount;
+        }
+
+        /**
+         * Gets whether this leg is a debit, which withdraws from the
+         * account, rather than a credit, which deposits into it.
+         *
+         * @return Whether this leg is a debit
+         */
+        public boolean isDebit() {
+            return this.debit;
+        }
+
+        @Override
+        public String toString() {
+            return new StringJoiner(", ", Leg.class.getSimpleName() + "[", "]")
+                .add("account=" + this.account.identifier())
+                .add("currency=" + this.currency)
+                .add("amount=" + this.amount)
+                .add("debit=" + this.debit)
+                .toString();
+        }
+    }
+
+    public static final class Builder implements org.spongepowered.api.util.Builder<Settlement, Builder> {
+
+        private final List<Leg> legs = new ArrayList<>();
+
+        Builder() {
+        }
+
+        /**
+         * Adds a withdrawal of the given amount from the given account.
+         *
+         * @param account The account to withdraw from
+         * @param currency The currency to withdraw
+         * @param amount The positive amount to withdraw
+         * @return This builder, for chaining
+         */
+        public Builder debit(final Account account, final Currency currency, final BigDecimal amount) {
+            return this.leg(account, currency, amount, true);
+        }
+
+        /**
+         * Adds a deposit of the given amount into the given account.
+         *
+         * @param account The account to deposit into
+         * @param currency The currency to deposit
+         * @param amount The positive amount to deposit
+         * @return This builder, for chaining
+         */
+        public Builder credit(final Account account, final Currency currency, final BigDecimal amount) {
+            return this.leg(account, currency, amount, false);
+        }
+
+        private Builder leg(final Account account, final Currency currency, final BigDecimal amount, final boolean debit) {
+            Objects.requireNonNull(account, "account");
+            Objects.requireNonNull(currency, "currency");
+            if (Objects.requireNonNull(amount, "amount").signum() <= 0) {
+                throw new IllegalArgumentException("The amount must be positive: " + amount);
+            }
+            this.legs.add(new Leg(account, currency, amount, debit));
+            return this;
+        }
+
+        @Override
+        public Builder reset() {
+            this.legs.clear();
+            return this;
+        }
+
+        @Override
+        public Settlement build() {
+            if (this.legs.isEmpty()) {
+                throw new IllegalStateException("A settlement needs at least one leg");
+            }
+            return new Settlement(this.legs);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.service.economy.transaction;
+
+import org.spongepowered.api.event.Cause;
+import org.spongepowered.api.service.economy.EconomyService;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * The result of {@link EconomyService#settle(Settlement, Cause) settling}
+ * a {@link Settlement}.
+ */
+public final class SettlementResult {
+
+    /**
+     * Creates a new result of a settlement.
+     *
+     * @param settlement The settlement
+     * @param result The overall result
+     * @param results The results of the legs that were executed, in the
+     *     order they were executed
+     * @return The new result
+     */
+    public static SettlementResult of(final Settlement settlement, final ResultType result,
+            final List<? extends TransactionResult> results) {
+        return SettlementResult.of(settlement, result, results, List.of());
+    }
+
+    /**
+     * Creates a new result of a settlement of which a leg failed, and of
+     * which the executed legs were all reverted.
+     *
+     * @param settlement The settlement
+     * @param result The overall result
+     * @param results The results of the legs that were executed, in the
+     *     order they were executed
+     * @param reverts The results of the transactions which reverted the
+     *     executed legs, in the order they were made
+     * @return The new result
+     */
+    public static SettlementResult of(final Settlement settlement, final ResultType result,
+            final List<? extends TransactionResult> results, final List<? extends TransactionResult> reverts) {
+        return new SettlementResult(Objects.requireNonNull(settlement, "settlement"), Objects.requireNonNull(result, "result"),
+                List.copyOf(results), List.copyOf(reverts), true);
+    }
+
+    /**
+     * Creates a new result of a settlement of which a leg failed, and of
+     * which not every executed leg could be reverted, leaving the accounts
+     * of the settlement in an inconsistent state.
+     *
+     * @param settlement The settlement
+     * @param result The overall result
+     * @param results The results of the legs that were executed, in the
+     *     order they were executed
+     * @param reverts The results of the transactions which reverted the
+     *     executed legs, in the order they were made
+     * @return The new result
+     */
+    public static SettlementResult inconsistent(final Settlement settlement, final ResultType result,
+            final List<? extends TransactionResult> results, final List<? extends TransactionResult> reverts) {
+        return new SettlementResult(Objects.requireNonNull(settlement, "settlement"), Objects.requireNonNull(result, "result"),
+                List.copyOf(results), List.copyOf(reverts), false);
+    }
+
+    private final Settlement settlement;
+    private final ResultType result;
+    private final List<TransactionResult> results;
+    private final List<TransactionResult> reverts;
+    private final boolean consistent;
+
+    private SettlementResult(final Settlement settlement, final ResultType result, final List<TransactionResult> results,
+            final List<TransactionResult> reverts, final boolean consistent) {
+        this.settlement = settlement;
+        this.result = result;
+        this.results = results;
+        this.reverts = reverts;
+        this.consistent = consistent;
+    }
+
+    /**
+     * Gets the settlement that was settled.
+     *
+     * @return The settlement
+     */
+    public Settlement settlement() {
+        return this.settlement;
+    }
+
+    /**
+     * Gets the overall result, which is {@link ResultType#SUCCESS} only if
+     * every leg succeeded. Otherwise it is the result of the first leg that
+     * failed, and the executed legs were reverted as far as
+     * {@link #isConsistent() possible}.
+     *
+     * @return The result
+     */
+    public ResultType result() {
+        return this.result;
+    }
+
+    /**
+     * Gets the results of the legs that were executed, in the order they
+     * were executed, up to and including the first leg that failed. The
+     * legs are executed debits first, otherwise in the order of
+     * {@link Settlement#legs()}.
+     *
+     * @return The results of the legs
+     */
+    public List<TransactionResult> results() {
+        return this.results;
+    }
+
+    /**
+     * Gets the results of the transactions which reverted the executed legs
+     * after a leg failed, in the order they were made. Every executed leg
+     * is reverted, even if reverting another leg failed. A revert which
+     * threw an exception has no result.
+     *
+     * @return The results of the reverts
+     */
+    public List<TransactionResult> reverts() {
+        return this.reverts;
+    }
+
+    /**
+     * Gets whether the settlement left its accounts in a consistent state,
+     * which is the case unless a leg failed and not every executed leg could
+     * be reverted. The legs which were not reverted remain in effect, and
+     * have to be reconciled by the caller or an administrator.
+     *
+     * @return Whether the settlement is consistent
+     */
+    public boolean isConsistent() {
+        return this.consistent;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", SettlementResult.class.getSimpleName() + "[", "]")
+            .add("result=" + this.result)
+            .add("results=" + this.results)
+            .add("reverts=" + this.reverts)
+            .add("consistent=" + this.consistent)
+            .toString();
+    }
+}
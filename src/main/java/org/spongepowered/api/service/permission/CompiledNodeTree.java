@@ -0,0 +1,414 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.service.permission;
+
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.util.Tristate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link NodeTree} that is optimized for lookups, for use by
+ * {@link PermissionService}s which check permissions very frequently.
+ *
+ * <p>Node segments are interned to integer ids, and the children of each
+ * node are stored in open addressing tables keyed by those ids.
+ * {@link #get(String)} still lowercases every segment of the checked node
+ * and looks it up once in the segment table, but the child tables of the
+ * visited nodes only compare integer ids, and a segment which is unknown to
+ * the tree ends the lookup without visiting any further nodes. Modifications
+ * share all nodes which are not on the path of the changed node, so
+ * {@link #withValue(String, Tristate)} only copies as many nodes as the node
+ * has segments.</p>
+ *
+ * <p>The segment table is shared by all trees derived from the same
+ * {@link #empty() empty tree}, and is rebuilt when it grows much larger
+ * than the tree because values were removed.</p>
+ */
+public final class CompiledNodeTree implements NodeTree {
+
+    // The amount of unused segments a table may hold before it is rebuilt
+    private static final int MAX_UNUSED_SEGMENTS = 256;
+
+    /**
+     * Gets an empty node tree with a root value of {@link Tristate#UNDEFINED}.
+     *
+     * @return The empty node tree
+     */
+    public static CompiledNodeTree empty() {
+        return new CompiledNodeTree(Node.root(Tristate.UNDEFINED), new Segments());
+    }
+
+    /**
+     * Creates a new node tree with the given values, and the specified root
+     * fallback value.
+     *
+     * @param values The values to be contained in this node tree
+     * @param defaultValue The fallback value for any completely undefined nodes
+     * @return The newly created node tree
+     */
+    public static CompiledNodeTree of(final Map<String, Boolean> values, final Tristate defaultValue) {
+        return CompiledNodeTree.empty().withRootValue(defaultValue).withAll(values);
+    }
+
+    /**
+     * Creates a new node tree with the given values, and the specified root
+     * fallback value.
+     *
+     * @param values The values to be contained in this node tree
+     * @param defaultValue The fallback value for any completely undefined nodes
+     * @return The newly created node tree
+     */
+    public static CompiledNodeTree ofTristates(final Map<String, Tristate> values, final Tristate defaultValue) {
+        return CompiledNodeTree.empty().withRootValue(defaultValue).withAllTristates(values);
+    }
+
+    private static String[] split(final String node) {
+        final List<String> segments = new ArrayList<>();
+        int start = 0;
+        int end;
+        while ((end = node.indexOf('.', start)) != -1) {
+            segments.add(node.substring(start, end).toLowerCase(Locale.ROOT));
+            start = end + 1;
+        }
+        segments.add(node.substring(start).toLowerCase(Locale.ROOT));
+        return segments.toArray(new String[0]);
+    }
+
+    private final Node root;
+    private final Segments segments;
+    private volatile @MonotonicNonNull Map<String, Boolean> map;
+
+    private CompiledNodeTree(final Node root, final Segments segments) {
+        this.root = root;
+        this.segments = segments;
+    }
+
+    @Override
+    public Tristate get(final String node) {
+        Node current = this.root;
+        Tristate result = current.value;
+        final int length = node.length();
+        int start = 0;
+        while (true) {
+            int end = node.indexOf('.', start);
+            if (end == -1) {
+                end = length;
+            }
+            final @Nullable Integer id = this.segments.ids.get(node.substring(start, end).toLowerCase(Locale.ROOT));
+            if (id == null) {
+                return result;
+            }
+            final @Nullable Node child = current.child(id);
+            if (child == null) {
+                return result;
+            }
+            if (child.value != Tristate.UNDEFINED) {
+                result = child.value;
+            }
+            if (end == length) {
+                return result;
+            }
+            current = child;
+            start = end + 1;
+        }
+    }
+
+    @Override
+    public Tristate rootValue() {
+        return this.root.value;
+    }
+
+    @Override
+    public CompiledNodeTree withRootValue(final Tristate state) {
+        if (this.root.value == state) {
+            return this;
+        }
+        return new CompiledNodeTree(this.root.withValue(state), this.segments);
+    }
+
+    @Override
+    public Map<String, Boolean> asMap() {
+        Map<String, Boolean> map = this.map;
+        if (map == null) {
+            this.map = map = Collections.unmodifiableMap(this.root.values());
+        }
+        return map;
+    }
+
+    @Override
+    public CompiledNodeTree withValue(final String node, final Tristate value) {
+        final String[] names = CompiledNodeTree.split(node);
+        final Node root = this.root.with(this.segments, names, 0, value);
+        return this.derive(root);
+    }
+
+    @Override
+    public CompiledNodeTree withAll(final Map<String, Boolean> values) {
+        Node root = this.root;
+        for (final Map.Entry<String, Boolean> entry : values.entrySet()) {
+            root = root.with(this.segments, CompiledNodeTree.split(entry.getKey()), 0, Tristate.fromBoolean(entry.getValue()));
+        }
+        return this.derive(root);
+    }
+
+    @Override
+    public CompiledNodeTree withAllTristates(final Map<String, Tristate> values) {
+        Node root = this.root;
+        for (final Map.Entry<String, Tristate> entry : values.entrySet()) {
+            root = root.with(this.segments, CompiledNodeTree.split(entry.getKey()), 0, entry.getValue());
+        }
+        return this.derive(root);
+    }
+
+    private CompiledNodeTree derive(final Node root) {
+        if (root == this.root) {
+            return this;
+        }
+        // Every node holds a single segment, so the tree uses at most as
+        // many segments as it has nodes
+        if (this.segments.ids.size() - root.count <= CompiledNodeTree.MAX_UNUSED_SEGMENTS) {
+            return new CompiledNodeTree(root, this.segments);
+        }
+        final Segments segments = new Segments();
+        Node compacted = Node.root(root.value);
+        for (final Map.Entry<String, Boolean> entry : root.values().entrySet()) {
+            compacted = compacted.with(segments, CompiledNodeTree.split(entry.getKey()), 0, Tristate.fromBoolean(entry.getValue()));
+        }
+        return new CompiledNodeTree(compacted, segments);
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CompiledNodeTree)) {
+            return false;
+        }
+        final CompiledNodeTree that = (CompiledNodeTree) o;
+        return this.root.value == that.root.value && this.asMap().equals(that.asMap());
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * this.root.value.hashCode() + this.asMap().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledNodeTree{root=" + this.root.value + ", values=" + this.asMap() + "}";
+    }
+
+    /**
+     * Interns node segments to integer ids, starting at {@code 1}.
+     */
+    private static final class Segments {
+
+        final ConcurrentMap<String, Integer> ids = new ConcurrentHashMap<>();
+        private final AtomicInteger nextId = new AtomicInteger(1);
+
+        int id(final String segment) {
+            return this.ids.computeIfAbsent(segment, s -> this.nextId.getAndIncrement());
+        }
+    }
+
+    /**
+     * An immutable node, of which the children are stored in an open
+     * addressing table with linear probing. A key of {@code 0} marks an
+     * empty slot, segment ids start at {@code 1}.
+     */
+    private static final class Node {
+
+        private static final int[] NO_KEYS = new int[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        static Node root(final Tristate value) {
+            return new Node(0, "", value, Node.NO_KEYS, Node.NO_CHILDREN, 0, 1);
+        }
+
+        private static int slot(final int id, final int mask) {
+            final int hash = id * 0x9E3779B9;
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+
+        private static int tableSize(final int size) {
+            // Keep the table at most half full, for short probe sequences
+            return size == 0 ? 0 : Integer.highestOneBit(size * 2 - 1) << 1;
+        }
+
+        final int id;
+        final String name;
+        final Tristate value;
+        final int[] keys;
+        final @Nullable Node[] children;
+        final int size;
+        // The amount of nodes in this subtree, including this node
+        final int count;
+
+        private Node(final int id, final String name, final Tristate value, final int[] keys,
+                final @Nullable Node[] children, final int size, final int count) {
+            this.id = id;
+            this.name = name;
+            this.value = value;
+            this.keys = keys;
+            this.children = children;
+            this.size = size;
+            this.count = count;
+        }
+
+        @Nullable Node child(final int id) {
+            if (this.size == 0) {
+                return null;
+            }
+            final int mask = this.keys.length - 1;
+            int i = Node.slot(id, mask);
+            int key;
+            while ((key = this.keys[i]) != 0) {
+                if (key == id) {
+                    return this.children[i];
+                }
+                i = (i + 1) & mask;
+            }
+            return null;
+        }
+
+        Node withValue(final Tristate value) {
+            return new Node(this.id, this.name, value, this.keys, this.children, this.size, this.count);
+        }
+
+        Node with(final Segments segments, final String[] names, final int depth, final Tristate value) {
+            if (depth == names.length) {
+                return this.value == value ? this : this.withValue(value);
+            }
+            final String name = names[depth];
+            final @Nullable Node child;
+            if (value == Tristate.UNDEFINED) {
+                // Removing a value never needs to intern new segments
+                final @Nullable Integer id = segments.ids.get(name);
+                child = id == null ? null : this.child(id);
+                if (child == null) {
+                    return this;
+                }
+            } else {
+                final int id = segments.id(name);
+                final @Nullable Node existing = this.child(id);
+                child = existing == null ? new Node(id, name, Tristate.UNDEFINED, Node.NO_KEYS, Node.NO_CHILDREN, 0, 1) : existing;
+            }
+            final Node updated = child.with(segments, names, depth + 1, value);
+            if (updated == child) {
+                return this;
+            }
+            if (updated.value == Tristate.UNDEFINED && updated.size == 0) {
+                return this.withoutChild(updated.id);
+            }
+            return this.withChild(updated);
+        }
+
+        private Node withChild(final Node child) {
+            final @Nullable Node previous = this.child(child.id);
+            final int size = previous != null ? this.size : this.size + 1;
+            final int count = this.count - (previous == null ? 0 : previous.count) + child.count;
+            final int capacity = Node.tableSize(size);
+            final int[] keys;
+            final @Nullable Node[] children;
+            if (capacity == this.keys.length) {
+                keys = this.keys.clone();
+                children = this.children.clone();
+            } else {
+                keys = new int[capacity];
+                children = new Node[capacity];
+                Node.copy(this.keys, this.children, keys, children, 0);
+            }
+            Node.insert(keys, children, child);
+            return new Node(this.id, this.name, this.value, keys, children, size, count);
+        }
+
+        private Node withoutChild(final int id) {
+            final @Nullable Node previous = this.child(id);
+            if (previous == null) {
+                return this;
+            }
+            final int size = this.size - 1;
+            final int capacity = Node.tableSize(size);
+            final int[] keys = capacity == 0 ? Node.NO_KEYS : new int[capacity];
+            final @Nullable Node[] children = capacity == 0 ? Node.NO_CHILDREN : new Node[capacity];
+            Node.copy(this.keys, this.children, keys, children, id);
+            return new Node(this.id, this.name, this.value, keys, children, size, this.count - previous.count);
+        }
+
+        private static void copy(final int[] fromKeys, final @Nullable Node[] fromChildren, final int[] keys,
+                final @Nullable Node[] children, final int skip) {
+            for (int i = 0; i < fromKeys.length; i++) {
+                final @Nullable Node child = fromChildren[i];
+                if (child != null && fromKeys[i] != skip) {
+                    Node.insert(keys, children, child);
+                }
+            }
+        }
+
+        private static void insert(final int[] keys, final @Nullable Node[] children, final Node child) {
+            final int mask = keys.length - 1;
+            int i = Node.slot(child.id, mask);
+            while (keys[i] != 0 && keys[i] != child.id) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = child.id;
+            children[i] = child;
+        }
+
+        Map<String, Boolean> values() {
+            final Map<String, Boolean> values = new HashMap<>();
+            for (int i = 0; i < this.children.length; i++) {
+                final @Nullable Node child = this.children[i];
+                if (child != null) {
+                    child.collect(child.name, values);
+                }
+            }
+            return values;
+        }
+
+        void collect(final String path, final Map<String, Boolean> values) {
+            if (this.value != Tristate.UNDEFINED) {
+                values.put(path, this.value.asBoolean());
+            }
+            for (int i = 0; i < this.children.length; i++) {
+                final @Nullable Node child = this.children[i];
+                if (child != null) {
+                    child.collect(path + '.' + child.name, values);
+                }
+            }
+        }
+    }
+}
@@ -39,6 +39,9 @@
  * however the behaviour defined in {@link Subject} regarding implicit node
  * inheritance should be maintained.</p>
  *
+ * <p>{@link CompiledNodeTree} is an implementation which is optimized for
+ * services that check permissions very frequently.</p>
+ *
  * <ul>
  *     <li>Keys are case-insensitive.</li>
  *     <li>Segments of nodes are split by the '.' character</li>
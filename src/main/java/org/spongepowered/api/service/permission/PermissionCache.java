@@ -0,0 +1,534 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.service.permission;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.service.context.Context;
+import org.spongepowered.api.util.Tristate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * A cache of resolved permission values, for use by {@link PermissionService}s
+ * to avoid resolving the same permission of a {@link Subject} repeatedly.
+ *
+ * <p>Values are cached by subject, set of {@link Context}s and permission.
+ * Context sets are interned, such that equal sets share a single immutable
+ * copy. A missing value is resolved through the {@link Resolver} of the
+ * cache, which is expected to look up the values of the parents of a subject
+ * through this cache as well. The cache records those lookups, so that
+ * {@link #invalidate(SubjectReference) invalidating} a subject also
+ * invalidates the values of every subject that inherited from it, and no
+ * others.</p>
+ *
+ * <p>The cache holds the values of at most a
+ * {@link Builder#maximumSubjects(int) maximum amount} of subjects. Once it
+ * is full, subjects which were not checked recently are evicted together
+ * with the subjects which inherited from them. The values cached per subject
+ * and the interned context sets are limited as well.</p>
+ *
+ * <p>Services should invalidate a subject whenever one of the mutators of
+ * its {@link SubjectData} changed its permissions, fallback values or
+ * parents.</p>
+ */
+public final class PermissionCache {
+
+    /**
+     * Creates a new builder to create a {@link PermissionCache}.
+     *
+     * @return The new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private final Resolver resolver;
+    private final LongSupplier ticker;
+    private final int maximumSubjects;
+    private final int maximumValuesPerSubject;
+    private final int maximumContextSets;
+    private final ConcurrentMap<Set<Context>, Set<Context>> contexts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final ThreadLocal<ArrayDeque<Key>> resolving = ThreadLocal.withInitial(ArrayDeque::new);
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder invalidationCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder totalResolveTime = new LongAdder();
+    private final LongAccumulator maximumResolveTime = new LongAccumulator(Math::max, 0);
+
+    PermissionCache(final Builder builder, final Resolver resolver) {
+        this.resolver = resolver;
+        this.ticker = builder.ticker;
+        this.maximumSubjects = builder.maximumSubjects;
+        this.maximumValuesPerSubject = builder.maximumValuesPerSubject;
+        this.maximumContextSets = builder.maximumContextSets;
+    }
+
+    /**
+     * Gets the interned copy of the given set of contexts. Once the
+     * {@link Builder#maximumContextSets(int) maximum amount} of context sets
+     * is interned, new sets are copied without being interned.
+     *
+     * @param contexts The contexts
+     * @return An immutable set equal to the given contexts
+     */
+    public Set<Context> intern(final Set<Context> contexts) {
+        final @Nullable Set<Context> interned = this.contexts.get(contexts);
+        if (interned != null) {
+            return interned;
+        }
+        final Set<Context> copy = Set.copyOf(contexts);
+        if (this.contexts.size() >= this.maximumContextSets) {
+            return copy;
+        }
+        final @Nullable Set<Context> existing = this.contexts.putIfAbsent(copy, copy);
+        return existing == null ? copy : existing;
+    }
+
+    /**
+     * Gets the value of the given permission of the subject in the given
+     * contexts, resolving it if it is not cached.
+     *
+     * @param subject The subject
+     * @param contexts The contexts
+     * @param permission The permission
+     * @return The permission value
+     */
+    public Tristate permissionValue(final Subject subject, final Set<Context> contexts, final String permission) {
+        final Key key = new Key(subject.asSubjectReference());
+        final ArrayDeque<Key> resolving = this.resolving.get();
+        final @Nullable Key dependent = resolving.peek();
+        final Entry entry = this.entry(key, dependent != null && !dependent.equals(key) ? dependent : null);
+        if (!entry.accessed) {
+            entry.accessed = true;
+        }
+        final Set<Context> interned = this.intern(contexts);
+        final Map<String, Tristate> values = entry.values.computeIfAbsent(interned, c -> new ConcurrentHashMap<>());
+        final @Nullable Tristate cached = values.get(permission);
+        if (cached != null) {
+            this.hitCount.increment();
+            return cached;
+        }
+        this.missCount.increment();
+        final long generation = this.generation.get();
+        final long start = this.ticker.getAsLong();
+        final Tristate value;
+        resolving.push(key);
+        try {
+            value = Objects.requireNonNull(this.resolver.resolve(subject, interned, permission), "value");
+        } finally {
+            resolving.pop();
+            final long time = this.ticker.getAsLong() - start;
+            this.totalResolveTime.add(time);
+            this.maximumResolveTime.accumulate(time);
+        }
+        // Values resolved while an invalidation happened may be outdated
+        if (this.generation.get() == generation && values.putIfAbsent(permission, value) == null
+                && entry.valueCount.incrementAndGet() > this.maximumValuesPerSubject) {
+            entry.values.clear();
+            entry.valueCount.set(0);
+        }
+        return value;
+    }
+
+    private Entry entry(final Key key, final @Nullable Key dependent) {
+        while (true) {
+            final @Nullable Entry existing = this.entries.get(key);
+            final Entry entry;
+            if (existing != null) {
+                entry = existing;
+            } else {
+                final Entry created = new Entry();
+                final @Nullable Entry raced = this.entries.putIfAbsent(key, created);
+                entry = raced == null ? created : raced;
+                if (raced == null && this.entries.size() > this.maximumSubjects) {
+                    this.evict(key);
+                }
+            }
+            if (dependent == null) {
+                return entry;
+            }
+            entry.dependents.add(dependent);
+            final @Nullable Entry dependentEntry = this.entries.get(dependent);
+            if (dependentEntry != null) {
+                dependentEntry.parents.add(key);
+            }
+            // The entry may have been removed before the dependent was
+            // recorded, in which case later invalidations would miss it
+            if (this.entries.get(key) == entry) {
+                return entry;
+            }
+        }
+    }
+
+    /**
+     * Evicts a subject which was not checked since the last eviction pass,
+     * giving every checked subject a second chance.
+     */
+    private void evict(final Key added) {
+        for (int pass = 0; pass < 2; pass++) {
+            final Iterator<Map.Entry<Key, Entry>> it = this.entries.entrySet().iterator();
+            while (it.hasNext()) {
+                final Map.Entry<Key, Entry> candidate = it.next();
+                if (candidate.getKey().equals(added)) {
+                    continue;
+                }
+                if (candidate.getValue().accessed) {
+                    candidate.getValue().accessed = false;
+                    continue;
+                }
+                this.evictionCount.add(this.remove(candidate.getKey()));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes the entry of the given subject and of all the subjects which
+     * inherited from it.
+     *
+     * @return The amount of removed entries
+     */
+    private int remove(final Key key) {
+        int removed = 0;
+        final List<Key> pending = new ArrayList<>();
+        pending.add(key);
+        while (!pending.isEmpty()) {
+            final Key next = pending.remove(pending.size() - 1);
+            final @Nullable Entry entry = this.entries.remove(next);
+            if (entry != null) {
+                removed++;
+                pending.addAll(entry.dependents);
+                for (final Key parent : entry.parents) {
+                    final @Nullable Entry parentEntry = this.entries.get(parent);
+                    if (parentEntry != null) {
+                        parentEntry.dependents.remove(next);
+                    }
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Invalidates the cached values of the given subject, and of all the
+     * subjects which inherited values from it.
+     *
+     * @param subject The subject to invalidate
+     */
+    public void invalidate(final SubjectReference subject) {
+        this.generation.incrementAndGet();
+        this.invalidationCount.add(this.remove(new Key(subject)));
+    }
+
+    /**
+     * Invalidates the cached values of the subject of the given data, and of
+     * all the subjects which inherited values from it.
+     *
+     * @param data The data which was modified
+     */
+    public void invalidate(final SubjectData data) {
+        this.invalidate(data.subject().asSubjectReference());
+    }
+
+    /**
+     * Invalidates all cached values.
+     */
+    public void invalidateAll() {
+        this.generation.incrementAndGet();
+        this.invalidationCount.add(this.entries.size());
+        this.entries.clear();
+    }
+
+    /**
+     * Gets a snapshot of the statistics of this cache.
+     *
+     * @return The statistics
+     */
+    public Statistics statistics() {
+        return new Statistics(this.hitCount.sum(), this.missCount.sum(), this.invalidationCount.sum(), this.evictionCount.sum(),
+            this.totalResolveTime.sum(), this.maximumResolveTime.get());
+    }
+
+    /**
+     * Resolves the value of a permission which is not cached.
+     */
+    @FunctionalInterface
+    public interface Resolver {
+
+        /**
+         * Resolves the value of the given permission of the subject in the
+         * given contexts. The values of parents should be looked up through
+         * {@link PermissionCache#permissionValue(Subject, Set, String)}.
+         *
+         * @param subject The subject
+         * @param contexts The interned contexts
+         * @param permission The permission
+         * @return The permission value
+         */
+        Tristate resolve(Subject subject, Set<Context> contexts, String permission);
+    }
+
+    private static final class Key {
+
+        private final String collectionIdentifier;
+        private final String subjectIdentifier;
+
+        Key(final SubjectReference reference) {
+            this.collectionIdentifier = reference.collectionIdentifier();
+            this.subjectIdentifier = reference.subjectIdentifier();
+        }
+
+        @Override
+        public boolean equals(final @Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key that = (Key) o;
+            return this.collectionIdentifier.equals(that.collectionIdentifier) && this.subjectIdentifier.equals(that.subjectIdentifier);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.collectionIdentifier.hashCode() + this.subjectIdentifier.hashCode();
+        }
+    }
+
+    private static final class Entry {
+
+        final ConcurrentMap<Set<Context>, Map<String, Tristate>> values = new ConcurrentHashMap<>();
+        final AtomicInteger valueCount = new AtomicInteger();
+        final Set<Key> dependents = ConcurrentHashMap.newKeySet();
+        final Set<Key> parents = ConcurrentHashMap.newKeySet();
+        volatile boolean accessed;
+    }
+
+    /**
+     * A snapshot of the statistics of a {@link PermissionCache}.
+     */
+    public static final class Statistics {
+
+        private final long hitCount;
+        private final long missCount;
+        private final long invalidationCount;
+        private final long evictionCount;
+        private final long totalResolveTime;
+        private final long maximumResolveTime;
+
+        Statistics(final long hitCount, final long missCount, final long invalidationCount, final long evictionCount,
+                final long totalResolveTime, final long maximumResolveTime) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.invalidationCount = invalidationCount;
+            this.evictionCount = evictionCount;
+            this.totalResolveTime = totalResolveTime;
+            this.maximumResolveTime = maximumResolveTime;
+        }
+
+        /**
+         * Gets the amount of checks that were served from the cache.
+         *
+         * @return The hit count
+         */
+        public long hitCount() {
+            return this.hitCount;
+        }
+
+        /**
+         * Gets the amount of checks that had to be resolved.
+         *
+         * @return The miss count
+         */
+        public long missCount() {
+            return this.missCount;
+        }
+
+        /**
+         * Gets the amount of subjects of which the cached values were
+         * invalidated.
+         *
+         * @return The invalidation count
+         */
+        public long invalidationCount() {
+            return this.invalidationCount;
+        }
+
+        /**
+         * Gets the amount of subjects of which the cached values were
+         * evicted to keep the cache within its maximum size.
+         *
+         * @return The eviction count
+         */
+        public long evictionCount() {
+            return this.evictionCount;
+        }
+
+        /**
+         * Gets the ratio of checks that were served from the cache.
+         *
+         * @return The hit rate, between {@code 0} and {@code 1}
+         */
+        public double hitRate() {
+            final long total = this.hitCount + this.missCount;
+            return total == 0 ? 1.0 : (double) this.hitCount / total;
+        }
+
+        /**
+         * Gets the average time, in nanoseconds, that was spent resolving a
+         * check that was not cached, including the lookups of the values of
+         * parents.
+         *
+         * @return The average resolve time
+         */
+        public double averageResolveTime() {
+            return this.missCount == 0 ? 0.0 : (double) this.totalResolveTime / this.missCount;
+        }
+
+        /**
+         * Gets the longest time, in nanoseconds, that was spent resolving a
+         * single check that was not cached, including the lookups of the
+         * values of parents. Unlike the {@link #averageResolveTime() average},
+         * this reveals single slow resolutions.
+         *
+         * @return The maximum resolve time
+         */
+        public long maximumResolveTime() {
+            return this.maximumResolveTime;
+        }
+
+        @Override
+        public String toString() {
+            return new StringJoiner(", ", Statistics.class.getSimpleName() + "[", "]")
+                .add("hitCount=" + this.hitCount)
+                .add("missCount=" + this.missCount)
+                .add("invalidationCount=" + this.invalidationCount)
+                .add("evictionCount=" + this.evictionCount)
+                .add("averageResolveTime=" + this.averageResolveTime())
+                .add("maximumResolveTime=" + this.maximumResolveTime)
+                .toString();
+        }
+    }
+
+    public static final class Builder {
+
+        LongSupplier ticker = System::nanoTime;
+        int maximumSubjects = 10000;
+        int maximumValuesPerSubject = 4096;
+        int maximumContextSets = 1024;
+
+        Builder() {
+        }
+
+        /**
+         * Sets the maximum amount of subjects of which values are cached,
+         * defaults to {@code 10000}.
+         *
+         * @param maximumSubjects The maximum amount of subjects
+         * @return This builder, for chaining
+         */
+        public Builder maximumSubjects(final int maximumSubjects) {
+            if (maximumSubjects < 1) {
+                throw new IllegalArgumentException("The maximum amount of subjects must be positive");
+            }
+            this.maximumSubjects = maximumSubjects;
+            return this;
+        }
+
+        /**
+         * Sets the maximum amount of values cached per subject, across all
+         * context sets, defaults to {@code 4096}. The cached values of a
+         * subject are cleared once it exceeds this amount.
+         *
+         * @param maximumValuesPerSubject The maximum amount of values
+         * @return This builder, for chaining
+         */
+        public Builder maximumValuesPerSubject(final int maximumValuesPerSubject) {
+            if (maximumValuesPerSubject < 1) {
+                throw new IllegalArgumentException("The maximum amount of values must be positive");
+            }
+            this.maximumValuesPerSubject = maximumValuesPerSubject;
+            return this;
+        }
+
+        /**
+         * Sets the maximum amount of context sets that are
+         * {@link PermissionCache#intern(Set) interned}, defaults to
+         * {@code 1024}.
+         *
+         * @param maximumContextSets The maximum amount of context sets
+         * @return This builder, for chaining
+         */
+        public Builder maximumContextSets(final int maximumContextSets) {
+            if (maximumContextSets < 0) {
+                throw new IllegalArgumentException("The maximum amount of context sets cannot be negative");
+            }
+            this.maximumContextSets = maximumContextSets;
+            return this;
+        }
+
+        /**
+         * Sets the source of time, in nanoseconds, used to measure how long
+         * resolving permissions takes. Defaults to {@link System#nanoTime()}.
+         *
+         * @param ticker The ticker
+         * @return This builder, for chaining
+         */
+        public Builder ticker(final LongSupplier ticker) {
+            this.ticker = Objects.requireNonNull(ticker, "ticker");
+            return this;
+        }
+
+        /**
+         * Creates a new {@link PermissionCache} that resolves permissions
+         * through the given resolver.
+         *
+         * @param resolver The resolver
+         * @return The permission cache
+         */
+        public PermissionCache build(final Resolver resolver) {
+            return new PermissionCache(this, Objects.requireNonNull(resolver, "resolver"));
+        }
+    }
+}
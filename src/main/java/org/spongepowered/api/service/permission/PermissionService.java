@@ -64,6 +64,9 @@
  * run a callback once the method has completed. Alternatively,
  * {@link CompletableFuture#join()} can be used, but care should be taken to
  * avoid blocking the server thread.</p>
+ *
+ * <p>Implementations may use a {@link PermissionCache} to avoid resolving
+ * the same permission checks repeatedly.</p>
  */
 public interface PermissionService {
 
@@ -29,6 +29,9 @@
 import org.spongepowered.api.profile.GameProfile;
 import org.spongepowered.api.profile.GameProfileManager;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -39,6 +42,13 @@
  *
  * <p>Any {@link User}s retrieved from this manager should not be stored, as
  * they may become invalid at any time.</p>
+ *
+ * <p>Offline users that have been loaded are held in a cache of a bounded
+ * size, which favours users that are loaded frequently over users that were
+ * only loaded once. When a user with unsaved changes is evicted from the
+ * cache, its data is saved before the user is discarded, such that eviction
+ * never loses changes. Statistics of the cache are available through
+ * {@link #cacheStatistics()}.</p>
  */
 public interface UserManager {
 
@@ -70,6 +80,28 @@ public interface UserManager {
      */
     CompletableFuture<Optional<User>> load(GameProfile profile);
 
+    /**
+     * Gets the data of the {@link User}s with the given unique ids.
+     *
+     * <p>The data of users that are not cached is read in parallel on a
+     * bounded pool of I/O threads, rather than one user at a time. Users
+     * which do not exist are not included in the result.</p>
+     *
+     * @param uniqueIds The UUIDs of the users
+     * @return The found users, by their UUID
+     */
+    default CompletableFuture<Map<UUID, User>> loadAll(final Collection<UUID> uniqueIds) {
+        final Map<UUID, CompletableFuture<Optional<User>>> futures = new HashMap<>();
+        for (final UUID uniqueId : uniqueIds) {
+            futures.put(uniqueId, this.load(uniqueId));
+        }
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+            final Map<UUID, User> users = new HashMap<>();
+            futures.forEach((uniqueId, future) -> future.join().ifPresent(user -> users.put(uniqueId, user)));
+            return users;
+        });
+    }
+
     /**
      * Gets or creates a persistent {@link User} with the given UUID.
      *
@@ -176,4 +208,70 @@ public interface UserManager {
      * @return A {@link Stream} of {@link GameProfile}s
      */
     Stream<GameProfile> streamOfMatches(String lastKnownName);
+
+    /**
+     * Gets a snapshot of the statistics of the cache of offline users.
+     *
+     * @return The cache statistics
+     */
+    CacheStatistics cacheStatistics();
+
+    /**
+     * A snapshot of the statistics of the cache of offline {@link User}s.
+     */
+    interface CacheStatistics {
+
+        /**
+         * Gets the amount of users currently cached.
+         *
+         * @return The size of the cache
+         */
+        int size();
+
+        /**
+         * Gets the maximum amount of users that are cached.
+         *
+         * @return The maximum size of the cache
+         */
+        int maximumSize();
+
+        /**
+         * Gets the amount of loads that were served from the cache.
+         *
+         * @return The hit count
+         */
+        long hitCount();
+
+        /**
+         * Gets the amount of loads that read the data of the user.
+         *
+         * @return The miss count
+         */
+        long missCount();
+
+        /**
+         * Gets the amount of users that were evicted from the cache.
+         *
+         * @return The eviction count
+         */
+        long evictionCount();
+
+        /**
+         * Gets the amount of evicted users whose unsaved changes were saved
+         * as they were evicted.
+         *
+         * @return The write back count
+         */
+        long writeBackCount();
+
+        /**
+         * Gets the ratio of loads that were served from the cache.
+         *
+         * @return The hit rate, between {@code 0} and {@code 1}
+         */
+        default double hitRate() {
+            final long total = this.hitCount() + this.missCount();
+            return total == 0 ? 1.0 : (double) this.hitCount() / total;
+        }
+    }
 }
@@ -36,6 +36,7 @@
 import org.spongepowered.math.vector.Vector3d;
 
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
 
 /**
@@ -65,6 +66,10 @@
  *    trace through the entity.</li>
  * </ol>
  *
+ * <p>Many rays sharing the same parameters can be traced at once through
+ * {@link #executeAll(double[], double[], boolean)}, without resetting this
+ * ray trace between rays.</p>
+ *
  * @param <T> The type of {@link Locatable} that this ray trace will attempt to
  *            select
  */
@@ -300,6 +305,80 @@ default RayTrace<T> direction(final Living entity) {
      */
     Optional<RayTraceResult<T>> execute();
 
+    /**
+     * Executes a batch of rays with the parameters of this ray trace, each
+     * ray having its own source position and direction, in the manner of
+     * {@link #sourcePosition(Vector3d)} and {@link #direction(Vector3d)}.
+     *
+     * <p>The positions and directions are given as flat arrays of
+     * {@code x, y, z} triples, such that ray {@code i} starts at
+     * {@code origins[3i], origins[3i + 1], origins[3i + 2]}.</p>
+     *
+     * @param origins The source positions of the rays
+     * @param directions The directions of the rays
+     * @return The results, indexed by ray
+     * @see #executeAll(double[], double[], boolean)
+     */
+    default RayTraceResults<T> executeAll(final double[] origins, final double[] directions) {
+        return this.executeAll(origins, directions, false);
+    }
+
+    /**
+     * Executes a batch of rays with the parameters of this ray trace, each
+     * ray having its own source position and direction, in the manner of
+     * {@link #sourcePosition(Vector3d)} and {@link #direction(Vector3d)}.
+     *
+     * <p>The positions and directions are given as flat arrays of
+     * {@code x, y, z} triples, such that ray {@code i} starts at
+     * {@code origins[3i], origins[3i + 1], origins[3i + 2]}.</p>
+     *
+     * <p>Implementations are expected to share looked up chunk sections
+     * between the rays of a batch. If {@code parallel} is {@code true},
+     * implementations which can safely read the world from other threads may
+     * trace the rays concurrently, such as on the common
+     * {@link ForkJoinPool}, in which case the predicates of this ray trace
+     * must be thread safe and the world must not be modified until this
+     * method returns. This is a hint: the default implementation ignores it
+     * and traces the rays one at a time, on the calling thread.</p>
+     *
+     * <p>The rays are traced on {@link #copy() copies} of this ray trace, so
+     * its source position, direction and {@link #continueUntil(Vector3d) end
+     * position} are left as they were.</p>
+     *
+     * @param origins The source positions of the rays
+     * @param directions The directions of the rays
+     * @param parallel Whether the rays may be traced in parallel, if the
+     *     implementation supports it
+     * @return The results, indexed by ray
+     */
+    default RayTraceResults<T> executeAll(final double[] origins, final double[] directions, final boolean parallel) {
+        if (origins.length % 3 != 0 || origins.length != directions.length) {
+            throw new IllegalArgumentException("Origins and directions must be x, y, z triples of the same length");
+        }
+        final RayTraceResults.Builder<T> results = RayTraceResults.builder(origins.length / 3);
+        final RayTrace<T> rayTrace = this.copy();
+        for (int i = 0; i < results.size(); i++) {
+            final int offset = i * 3;
+            final int index = i;
+            rayTrace.sourcePosition(new Vector3d(origins[offset], origins[offset + 1], origins[offset + 2]))
+                .direction(new Vector3d(directions[offset], directions[offset + 1], directions[offset + 2]))
+                .execute()
+                .ifPresent(result -> {
+                    final Vector3d hit = result.hitPosition();
+                    results.set(index, result.selectedObject(), hit.x(), hit.y(), hit.z());
+                });
+        }
+        return results.build();
+    }
+
+    /**
+     * Creates a new ray trace with the same parameters as this one, which
+     * may be changed and executed independently of this one.
+     *
+     * @return The copy
+     */
+    RayTrace<T> copy();
+
     /**
      * Resets this object to its original state.
      *
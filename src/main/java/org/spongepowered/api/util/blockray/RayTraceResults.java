@@ -0,0 +1,229 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.util.blockray;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.world.Locatable;
+import org.spongepowered.math.vector.Vector3d;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The results of a batch of rays traced by
+ * {@link RayTrace#executeAll(double[], double[], boolean)}, stored as
+ * parallel arrays indexed by the index of the ray in the batch rather than
+ * as a {@link RayTraceResult} per ray.
+ *
+ * <p>The results cannot be changed once created, ray traces fill them in
+ * through a {@link #builder(int) builder}.</p>
+ *
+ * @param <T> The type of {@link Locatable} that was selected
+ */
+public final class RayTraceResults<T extends Locatable> {
+
+    private final @Nullable Object[] selected;
+    private final double[] hitPositions;
+
+    /**
+     * Creates a builder of the results for the given amount of rays, none of
+     * which hit anything yet.
+     *
+     * @param size The amount of rays
+     * @param <T> The type of {@link Locatable} that was selected
+     * @return The builder
+     */
+    public static <T extends Locatable> Builder<T> builder(final int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size cannot be negative: " + size);
+        }
+        return new Builder<>(size);
+    }
+
+    private RayTraceResults(final @Nullable Object[] selected, final double[] hitPositions) {
+        this.selected = selected;
+        this.hitPositions = hitPositions;
+    }
+
+    /**
+     * Gets the amount of rays in the batch.
+     *
+     * @return The amount of rays
+     */
+    public int size() {
+        return this.selected.length;
+    }
+
+    /**
+     * Gets whether the ray at the given index selected an object.
+     *
+     * @param index The index of the ray
+     * @return Whether the ray hit
+     */
+    public boolean isHit(final int index) {
+        return this.selected[index] != null;
+    }
+
+    /**
+     * Gets the amount of rays that selected an object.
+     *
+     * @return The amount of hits
+     */
+    public int hitCount() {
+        int count = 0;
+        for (final @Nullable Object selected : this.selected) {
+            if (selected != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the object selected by the ray at the given index, if any.
+     *
+     * @param index The index of the ray
+     * @return The selected object
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<T> selected(final int index) {
+        return Optional.ofNullable((T) this.selected[index]);
+    }
+
+    /**
+     * Gets the x coordinate of the hit position of the ray at the given
+     * index, or {@link Double#NaN} if it did not hit.
+     *
+     * @param index The index of the ray
+     * @return The x coordinate
+     */
+    public double hitX(final int index) {
+        return this.hitPositions[Objects.checkIndex(index, this.selected.length) * 3];
+    }
+
+    /**
+     * Gets the y coordinate of the hit position of the ray at the given
+     * index, or {@link Double#NaN} if it did not hit.
+     *
+     * @param index The index of the ray
+     * @return The y coordinate
+     */
+    public double hitY(final int index) {
+        return this.hitPositions[Objects.checkIndex(index, this.selected.length) * 3 + 1];
+    }
+
+    /**
+     * Gets the z coordinate of the hit position of the ray at the given
+     * index, or {@link Double#NaN} if it did not hit.
+     *
+     * @param index The index of the ray
+     * @return The z coordinate
+     */
+    public double hitZ(final int index) {
+        return this.hitPositions[Objects.checkIndex(index, this.selected.length) * 3 + 2];
+    }
+
+    /**
+     * Gets the hit position of the ray at the given index, if it hit.
+     *
+     * @param index The index of the ray
+     * @return The hit position
+     */
+    public Optional<Vector3d> hitPosition(final int index) {
+        if (!this.isHit(index)) {
+            return Optional.empty();
+        }
+        return Optional.of(new Vector3d(this.hitX(index), this.hitY(index), this.hitZ(index)));
+    }
+
+    /**
+     * Fills in the results of a batch of rays, one index at a time.
+     *
+     * <p>Distinct indices may be filled in from different threads, as long
+     * as {@link #build()} is called after all of them are done.</p>
+     *
+     * @param <T> The type of {@link Locatable} that was selected
+     */
+    public static final class Builder<T extends Locatable> {
+
+        private @Nullable Object @Nullable [] selected;
+        private final double[] hitPositions;
+
+        Builder(final int size) {
+            this.selected = new Object[size];
+            this.hitPositions = new double[size * 3];
+            Arrays.fill(this.hitPositions, Double.NaN);
+        }
+
+        /**
+         * Gets the amount of rays in the batch.
+         *
+         * @return The amount of rays
+         */
+        public int size() {
+            return this.hitPositions.length / 3;
+        }
+
+        /**
+         * Sets the result of the ray at the given index.
+         *
+         * @param index The index of the ray
+         * @param selected The selected object
+         * @param x The x coordinate of the hit position
+         * @param y The y coordinate of the hit position
+         * @param z The z coordinate of the hit position
+         * @return This builder, for chaining
+         * @throws IllegalStateException If the results were already built
+         */
+        public Builder<T> set(final int index, final T selected, final double x, final double y, final double z) {
+            final @Nullable Object[] selectedObjects = this.selected;
+            if (selectedObjects == null) {
+                throw new IllegalStateException("The results were already built");
+            }
+            selectedObjects[Objects.checkIndex(index, selectedObjects.length)] = Objects.requireNonNull(selected, "selected");
+            this.hitPositions[index * 3] = x;
+            this.hitPositions[index * 3 + 1] = y;
+            this.hitPositions[index * 3 + 2] = z;
+            return this;
+        }
+
+        /**
+         * Builds the results, after which this builder can no longer be
+         * used.
+         *
+         * @return The results
+         * @throws IllegalStateException If the results were already built
+         */
+        public RayTraceResults<T> build() {
+            final @Nullable Object[] selectedObjects = this.selected;
+            if (selectedObjects == null) {
+                throw new IllegalStateException("The results were already built");
+            }
+            this.selected = null;
+            return new RayTraceResults<>(selectedObjects, this.hitPositions);
+        }
+    }
+}
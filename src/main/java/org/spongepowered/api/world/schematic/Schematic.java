@@ -28,9 +28,11 @@
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.block.BlockType;
 import org.spongepowered.api.data.persistence.DataView;
+import org.spongepowered.api.data.persistence.InvalidDataFormatException;
 import org.spongepowered.api.entity.EntityArchetype;
 import org.spongepowered.api.util.CopyableBuilder;
 import org.spongepowered.api.world.biome.Biome;
+import org.spongepowered.api.world.volume.StorageType;
 import org.spongepowered.api.world.volume.archetype.ArchetypeVolume;
 import org.spongepowered.api.world.volume.archetype.ArchetypeVolumeCreator;
 import org.spongepowered.api.world.volume.archetype.entity.EntityArchetypeEntry;
@@ -40,6 +42,9 @@
 import org.spongepowered.api.world.volume.game.LocationBaseDataHolder;
 import org.spongepowered.math.vector.Vector3d;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Collection;
 
 /**
@@ -62,6 +67,33 @@ static Builder builder() {
         return Sponge.game().builderProvider().provide(Builder.class);
     }
 
+    /**
+     * Reads a schematic in the Sponge schematic format from the given
+     * {@link InputStream}, held in memory with {@link StorageType#STANDARD}.
+     *
+     * @param input The input stream
+     * @return The schematic
+     * @throws IOException If there was an error reading from the stream
+     * @see Factory#read(InputStream, StorageType)
+     */
+    static Schematic readFrom(final InputStream input) throws IOException {
+        return Schematic.readFrom(input, StorageType.STANDARD);
+    }
+
+    /**
+     * Reads a schematic in the Sponge schematic format from the given
+     * {@link InputStream}, held in memory with the given {@link StorageType}.
+     *
+     * @param input The input stream
+     * @param type The storage type of the schematic
+     * @return The schematic
+     * @throws IOException If there was an error reading from the stream
+     * @see Factory#read(InputStream, StorageType)
+     */
+    static Schematic readFrom(final InputStream input, final StorageType type) throws IOException {
+        return Sponge.game().factoryProvider().provide(Factory.class).read(input, type);
+    }
+
     /**
      * Gets the {@link Palette} used by this schematic for serialization.
      *
@@ -83,6 +115,18 @@ static Builder builder() {
      */
     DataView metadata();
 
+    /**
+     * Writes this schematic in the Sponge schematic format to the given
+     * {@link OutputStream}.
+     *
+     * @param output The output stream
+     * @throws IOException If there was an error writing to the stream
+     * @see Factory#write(OutputStream, Schematic)
+     */
+    default void writeTo(final OutputStream output) throws IOException {
+        Sponge.game().factoryProvider().provide(Factory.class).write(output, this);
+    }
+
     /**
      * A builder for {@link Schematic}s.
      */
@@ -151,6 +195,17 @@ interface Builder extends org.spongepowered.api.util.Builder<Schematic, Builder>
          */
         Builder biomePaletteType(PaletteType<Biome, Biome> type);
 
+        /**
+         * Specifies the {@link StorageType} in which the block and biome data
+         * of the schematic is held in memory, defaults to
+         * {@link StorageType#STANDARD}. Using {@link StorageType#COMPACT}
+         * significantly reduces the memory used by large schematics.
+         *
+         * @param type The storage type
+         * @return This builder, for chaining
+         */
+        Builder storageType(StorageType type);
+
         Builder entity(EntityArchetype entityArchetype);
 
         Builder entity(EntityArchetype entityArchetype, Vector3d position);
@@ -188,4 +243,47 @@ interface Builder extends org.spongepowered.api.util.Builder<Schematic, Builder>
         Schematic build() throws IllegalArgumentException;
 
     }
+
+    /**
+     * Reads and writes {@link Schematic}s in the Sponge schematic format
+     * incrementally, rather than through a complete {@link DataView} of the
+     * schematic as with {@link org.spongepowered.api.data.persistence.DataFormats#NBT}.
+     */
+    interface Factory {
+
+        /**
+         * Reads a schematic from the given {@link InputStream}, which may be
+         * either compressed or uncompressed.
+         *
+         * <p>The metadata and palettes of the schematic are decoded first,
+         * after which the block, biome and entity data is decoded straight
+         * from the stream into the {@link ArchetypeVolume} of the schematic,
+         * one {@link org.spongepowered.api.world.volume.block.BlockSection section}
+         * at a time. At no point is the complete schematic held in memory
+         * as a {@link DataView}.</p>
+         *
+         * @param input The input stream
+         * @param type The storage type of the schematic
+         * @return The schematic
+         * @throws InvalidDataFormatException If the data in the stream is not
+         *         a valid schematic
+         * @throws IOException If there was an error reading from the stream
+         */
+        Schematic read(InputStream input, StorageType type) throws InvalidDataFormatException, IOException;
+
+        /**
+         * Writes the given schematic to the given {@link OutputStream}.
+         *
+         * <p>The schematic is encoded directly to the stream, writing its
+         * metadata and palettes first and its block, biome and entity data
+         * one section at a time, without building a {@link DataView} of the
+         * complete schematic.</p>
+         *
+         * @param output The output stream
+         * @param schematic The schematic to write
+         * @throws IOException If there was an error writing to the stream
+         */
+        void write(OutputStream output, Schematic schematic) throws IOException;
+
+    }
 }
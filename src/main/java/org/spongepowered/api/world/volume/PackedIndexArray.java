@@ -0,0 +1,221 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.world.volume;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A fixed size array of non-negative ints, each stored in the same number of
+ * bits packed into longs, used to store the palette ids of a {@link Volume}
+ * with {@link StorageType#COMPACT}.
+ *
+ * <p>Entries do not span across two longs, such that each long holds
+ * {@code 64 / bitsPerEntry} entries and the unused high bits are left as
+ * {@code 0}. This matches the layout of a {@link
+ * org.spongepowered.api.world.volume.block.BlockSection BlockSection}.</p>
+ */
+public final class PackedIndexArray {
+
+    /**
+     * The maximum bits an entry may use.
+     */
+    public static final int MAX_BITS = 32;
+
+    /**
+     * Gets the bits needed to store any id up to and including the given
+     * highest id, this is at least {@code 1}.
+     *
+     * @param highestId The highest id to store
+     * @return The required bits per entry
+     */
+    public static int bitsFor(final int highestId) {
+        if (highestId < 0) {
+            throw new IllegalArgumentException("Highest id cannot be negative: " + highestId);
+        }
+        return Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(highestId));
+    }
+
+    /**
+     * Gets the number of longs needed to store the given amount of entries.
+     *
+     * @param bitsPerEntry The bits per entry
+     * @param size The amount of entries
+     * @return The length of the backing array
+     */
+    public static int dataLength(final int bitsPerEntry, final int size) {
+        final int entriesPerLong = Long.SIZE / bitsPerEntry;
+        return (size + entriesPerLong - 1) / entriesPerLong;
+    }
+
+    private final int size;
+    private final int bitsPerEntry;
+    private final int entriesPerLong;
+    private final long mask;
+    private final long[] data;
+
+    /**
+     * Creates a new array of the given size, with every entry set to
+     * {@code 0}.
+     *
+     * @param bitsPerEntry The bits per entry, between {@code 1} and
+     *     {@link #MAX_BITS}
+     * @param size The amount of entries
+     */
+    public PackedIndexArray(final int bitsPerEntry, final int size) {
+        PackedIndexArray.validate(bitsPerEntry, size);
+        this.size = size;
+        this.bitsPerEntry = bitsPerEntry;
+        this.entriesPerLong = Long.SIZE / bitsPerEntry;
+        this.mask = (1L << bitsPerEntry) - 1L;
+        this.data = new long[PackedIndexArray.dataLength(bitsPerEntry, size)];
+    }
+
+    /**
+     * Creates a new array of the given size, backed by a copy of the given
+     * packed data.
+     *
+     * @param bitsPerEntry The bits per entry, between {@code 1} and
+     *     {@link #MAX_BITS}
+     * @param size The amount of entries
+     * @param data The packed data, of {@link #dataLength(int, int)} longs
+     */
+    public PackedIndexArray(final int bitsPerEntry, final int size, final long[] data) {
+        PackedIndexArray.validate(bitsPerEntry, size);
+        final int length = PackedIndexArray.dataLength(bitsPerEntry, size);
+        if (Objects.requireNonNull(data, "data").length != length) {
+            throw new IllegalArgumentException("Expected " + length + " longs of data, but got " + data.length);
+        }
+        this.size = size;
+        this.bitsPerEntry = bitsPerEntry;
+        this.entriesPerLong = Long.SIZE / bitsPerEntry;
+        this.mask = (1L << bitsPerEntry) - 1L;
+        this.data = data.clone();
+    }
+
+    private static void validate(final int bitsPerEntry, final int size) {
+        if (bitsPerEntry < 1 || bitsPerEntry > PackedIndexArray.MAX_BITS) {
+            throw new IllegalArgumentException("Bits per entry must be between 1 and " + PackedIndexArray.MAX_BITS + ": " + bitsPerEntry);
+        }
+        if (size < 0) {
+            throw new IllegalArgumentException("Size cannot be negative: " + size);
+        }
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public int bitsPerEntry() {
+        return this.bitsPerEntry;
+    }
+
+    /**
+     * Gets the entry at the given index.
+     *
+     * @param index The index
+     * @return The entry
+     */
+    public int get(final int index) {
+        Objects.checkIndex(index, this.size);
+        final int shift = (index % this.entriesPerLong) * this.bitsPerEntry;
+        return (int) ((this.data[index / this.entriesPerLong] >>> shift) & this.mask);
+    }
+
+    /**
+     * Sets the entry at the given index.
+     *
+     * @param index The index
+     * @param value The value, which must be non-negative and fit within
+     *     {@link #bitsPerEntry()} bits
+     */
+    public void set(final int index, final int value) {
+        Objects.checkIndex(index, this.size);
+        if (value < 0 || value > this.mask) {
+            throw new IllegalArgumentException("Value " + value + " does not fit in " + this.bitsPerEntry + " bits");
+        }
+        final int cell = index / this.entriesPerLong;
+        final int shift = (index % this.entriesPerLong) * this.bitsPerEntry;
+        this.data[cell] = (this.data[cell] & ~(this.mask << shift)) | ((value & this.mask) << shift);
+    }
+
+    /**
+     * Creates a copy of this array with the given bits per entry, used when
+     * a palette outgrows the current bits per entry.
+     *
+     * @param bitsPerEntry The new bits per entry
+     * @return The resized copy
+     * @throws IllegalArgumentException If an existing entry does not fit in
+     *     the new bits per entry
+     */
+    public PackedIndexArray resize(final int bitsPerEntry) {
+        final PackedIndexArray resized = new PackedIndexArray(bitsPerEntry, this.size);
+        for (int i = 0; i < this.size; i++) {
+            resized.set(i, this.get(i));
+        }
+        return resized;
+    }
+
+    /**
+     * Gets a copy of the packed data of this array.
+     *
+     * @return The packed data
+     */
+    public long[] data() {
+        return this.data.clone();
+    }
+
+    /**
+     * Gets the number of bytes used by the packed data of this array,
+     * excluding the constant overhead of the array objects themselves.
+     *
+     * @return The size of the packed data in bytes
+     */
+    public long dataSizeInBytes() {
+        return (long) this.data.length * Long.BYTES;
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || this.getClass() != o.getClass()) {
+            return false;
+        }
+        final PackedIndexArray that = (PackedIndexArray) o;
+        return this.size == that.size
+            && this.bitsPerEntry == that.bitsPerEntry
+            && Arrays.equals(this.data, that.data);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hash(this.size, this.bitsPerEntry) + Arrays.hashCode(this.data);
+    }
+
+}
@@ -42,6 +42,19 @@ public enum StorageType {
      * for multi-threaded applications, but single threaded ones might suffer
      * for extra overhead.
      */
-    THREAD_SAFE
+    THREAD_SAFE,
+
+    /**
+     * A memory-efficient storage solution, where the palette ids of every
+     * position are packed into a {@link PackedIndexArray} using only as many
+     * bits as the highest id of the palette requires, growing as entries are
+     * added to the palette.
+     *
+     * <p>A volume with at most {@code 16} distinct blocks uses half a byte
+     * per block, compared to the object reference per block of a
+     * {@link #STANDARD} storage, at the cost of decoding each id on access.
+     * Not guaranteed to provide anything but single threaded capabilities.</p>
+     */
+    COMPACT
 
 }
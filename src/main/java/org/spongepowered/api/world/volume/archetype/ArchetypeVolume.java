@@ -32,6 +32,7 @@
 import org.spongepowered.api.world.BlockChangeFlag;
 import org.spongepowered.api.world.BlockChangeFlags;
 import org.spongepowered.api.world.server.ServerWorld;
+import org.spongepowered.api.world.volume.StorageType;
 import org.spongepowered.api.world.volume.archetype.block.entity.BlockEntityArchetypeVolume;
 import org.spongepowered.api.world.volume.archetype.entity.EntityArchetypeVolume;
 import org.spongepowered.api.world.volume.biome.BiomeVolume;
@@ -53,6 +54,16 @@ public interface ArchetypeVolume extends BlockVolume.Modifiable<ArchetypeVolume>
 
     ArchetypeVolume transform(Transformation transformation);
 
+    /**
+     * Gets the {@link StorageType} in which the contents of this volume are
+     * held in memory.
+     *
+     * @return The storage type
+     */
+    default StorageType storageType() {
+        return StorageType.STANDARD;
+    }
+
     /**
      * Gets the logical center of a volume, considering the decimal coordinates,
      * the block's center location would have an offset of {@code 0.5}
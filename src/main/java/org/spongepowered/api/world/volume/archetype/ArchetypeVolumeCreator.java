@@ -24,6 +24,7 @@
  */
 package org.spongepowered.api.world.volume.archetype;
 
+import org.spongepowered.api.world.volume.StorageType;
 import org.spongepowered.api.world.volume.Volume;
 import org.spongepowered.math.vector.Vector3i;
 
@@ -41,4 +42,29 @@ public interface ArchetypeVolumeCreator extends Volume {
      */
     ArchetypeVolume createArchetypeVolume(Vector3i min, Vector3i max, Vector3i origin);
 
+    /**
+     * Creates a new archetype volume from the specified section of this extent,
+     * held in memory with the given {@link StorageType}. The archetype's volume
+     * will be shifted such that the position given in the origin will be the
+     * origin of the volume.
+     *
+     * <p>Implementations which do not support a storage type other than
+     * {@link StorageType#STANDARD} throw an exception when another type is
+     * requested, rather than silently using a different type.</p>
+     *
+     * @param min The minimum point of the volume to copy
+     * @param max The maximum point of the volume to copy
+     * @param origin The eventual origin on the new archetype volume
+     * @param type The storage type of the archetype volume
+     * @return The archetype volume
+     * @throws UnsupportedOperationException If the storage type is not
+     *     supported
+     */
+    default ArchetypeVolume createArchetypeVolume(final Vector3i min, final Vector3i max, final Vector3i origin, final StorageType type) {
+        if (type != StorageType.STANDARD) {
+            throw new UnsupportedOperationException("Storage type " + type + " is not supported");
+        }
+        return this.createArchetypeVolume(min, max, origin);
+    }
+
 }
@@ -0,0 +1,101 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.world.volume.block;
+
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.block.BlockType;
+import org.spongepowered.api.world.schematic.Palette;
+import org.spongepowered.math.vector.Vector3i;
+
+/**
+ * A cube of {@link #SIZE}&sup3; blocks of a {@link BlockVolume}, represented
+ * as a {@link Palette} and the palette ids of every block in the section,
+ * packed into an array of longs.
+ *
+ * <p>Each block takes {@link #bitsPerEntry()} bits, and entries do not span
+ * across two longs, such that a long holds {@code 64 / bitsPerEntry()}
+ * entries. Blocks are ordered by {@code y}, then {@code z}, then {@code x},
+ * see {@link #index(int, int, int)}.</p>
+ *
+ * <p>Sections are used to move blocks between volumes in bulk, without
+ * resolving each individual {@link BlockState}. The packed data of a
+ * section is only meaningful alongside its {@link #palette()}.</p>
+ */
+public interface BlockSection {
+
+    /**
+     * The length of each side of a section.
+     */
+    int SIZE = 16;
+
+    /**
+     * The number of blocks in a section.
+     */
+    int VOLUME = BlockSection.SIZE * BlockSection.SIZE * BlockSection.SIZE;
+
+    /**
+     * Gets the index of a block within the packed data of a section.
+     *
+     * @param x The x coordinate, relative to the section
+     * @param y The y coordinate, relative to the section
+     * @param z The z coordinate, relative to the section
+     * @return The index of the block
+     */
+    static int index(final int x, final int y, final int z) {
+        return (y << 8) | (z << 4) | x;
+    }
+
+    /**
+     * Gets the minimum block position of this section, this is always
+     * a multiple of {@link #SIZE}.
+     *
+     * @return The minimum position
+     */
+    Vector3i min();
+
+    /**
+     * Gets the {@link Palette} that the packed ids of this section refer to.
+     *
+     * @return The palette
+     */
+    Palette<BlockState, BlockType> palette();
+
+    /**
+     * Gets the number of bits used by each packed entry. A section with
+     * {@code 0} bits per entry is filled entirely with the single block of
+     * its palette, and has no packed data.
+     *
+     * @return The bits per entry
+     */
+    int bitsPerEntry();
+
+    /**
+     * Gets a copy of the packed palette ids of this section.
+     *
+     * @return The packed data
+     */
+    long[] data();
+
+}
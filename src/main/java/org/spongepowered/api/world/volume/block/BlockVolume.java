@@ -44,6 +44,8 @@
 import org.spongepowered.math.vector.Vector2i;
 import org.spongepowered.math.vector.Vector3i;
 
+import java.util.Optional;
+
 public interface BlockVolume extends Volume {
 
     /**
@@ -110,6 +112,23 @@ default Vector3i highestPositionAt(final Vector3i position) {
         return new Vector3i(position.x(), this.highestYAt(position.x(), position.z()), position.z());
     }
 
+    /**
+     * Gets the {@link BlockSection} starting at the given minimum position,
+     * if this volume is backed by sections and the section is entirely
+     * contained within this volume.
+     *
+     * <p>Volumes that are not backed by sections return
+     * {@link Optional#empty()}, in which case blocks should be read
+     * individually.</p>
+     *
+     * @param sectionMin The minimum position of the section, a multiple
+     *     of {@link BlockSection#SIZE} on every axis
+     * @return The section, if available
+     */
+    default Optional<BlockSection> section(final Vector3i sectionMin) {
+        return Optional.empty();
+    }
+
     interface Streamable<B extends Streamable<B>> extends BlockVolume {
 
         /**
@@ -173,6 +192,21 @@ default boolean removeBlock(final Vector3i position) {
         }
 
         boolean removeBlock(int x, int y, int z);
+
+        /**
+         * Replaces the entire section at {@link BlockSection#min()} with the
+         * given {@link BlockSection}, remapping its palette ids to the palette
+         * of this volume where required.
+         *
+         * <p>Volumes that are not backed by sections return {@code false}, in
+         * which case the blocks should be set individually.</p>
+         *
+         * @param section The section to set
+         * @return Whether the section was set
+         */
+        default boolean setSection(final BlockSection section) {
+            return false;
+        }
     }
 
     interface Mutable extends Modifiable<Mutable> {
@@ -35,12 +35,37 @@ public interface BlockVolumeFactory {
 
     BlockVolume.Mutable empty(Palette<BlockState, BlockType> palette, RegistryReference<BlockType> defaultState, Vector3i min, Vector3i max);
 
+    /**
+     * Copies the blocks of the {@code existing} volume within the given range
+     * into a new {@link BlockVolume.Mutable}.
+     *
+     * <p>Where the range is aligned to {@link BlockSection} boundaries and the
+     * existing volume provides its {@link BlockVolume#section(Vector3i) sections},
+     * whole sections are copied as their palette and packed data. Only the
+     * blocks at the edges of the range that do not fill an entire section
+     * are copied individually.</p>
+     *
+     * @param existing The volume to copy from
+     * @param newMin The minimum position of the copied range
+     * @param newMax The maximum position of the copied range
+     * @return The copy
+     */
     BlockVolume.Mutable copyFromRange(BlockVolume.Streamable<? extends @NonNull Object> existing, Vector3i newMin, Vector3i newMax);
 
     BlockVolume.Mutable copy(BlockVolume.Streamable<? extends @NonNull Object> existing);
 
     BlockVolume.Immutable immutableOf(BlockVolume.Streamable<? extends @NonNull Object> existing);
 
+    /**
+     * Creates an immutable copy of the blocks of the {@code existing} volume
+     * within the given range, copying whole {@link BlockSection sections} where
+     * possible as described by {@link #copyFromRange(BlockVolume.Streamable, Vector3i, Vector3i)}.
+     *
+     * @param existing The volume to copy from
+     * @param newMin The minimum position of the copied range
+     * @param newMax The maximum position of the copied range
+     * @return The immutable copy
+     */
     BlockVolume.Immutable immutableOf(BlockVolume.Streamable<? extends @NonNull Object> existing, Vector3i newMin, Vector3i newMax);
 
 }
@@ -0,0 +1,145 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.world.volume.entity;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.entity.Entity;
+import org.spongepowered.api.util.AABB;
+import org.spongepowered.math.vector.Vector3d;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A spatial index of the {@link Entity entities} of an {@link EntityVolume},
+ * used to find the entities near a position without testing every entity
+ * in the volume.
+ *
+ * <p>Implementations are expected to be kept up to date as entities move,
+ * for example by bucketing entities by the chunk section they are in, such
+ * that a query only visits the entities in the buckets the query overlaps.
+ * {@link #scanning(Supplier)} creates an index which tests every entity, and
+ * {@link #of(Supplier, BiFunction)} one which delegates to an existing
+ * bounding box query, for volumes that do not maintain an index.</p>
+ *
+ * @param <E> The type of the indexed entities
+ */
+public interface EntityIndex<E extends Entity> {
+
+    /**
+     * Creates an index which answers every query by testing each of the
+     * entities returned by the given supplier.
+     *
+     * @param entities The supplier of the entities
+     * @param <E> The type of the entities
+     * @return The scanning index
+     */
+    static <E extends Entity> EntityIndex<E> scanning(final Supplier<? extends Collection<? extends E>> entities) {
+        return new ScanningEntityIndex<>(Objects.requireNonNull(entities, "entities"), null);
+    }
+
+    /**
+     * Creates an index which answers queries within a bounding box, and
+     * queries for the nearest entities within a limited distance, through
+     * the given bounding box query. Only queries for the nearest entities
+     * without a distance limit test each of the entities returned by the
+     * given supplier.
+     *
+     * <p>The bounding box query may return entities which are not within
+     * the box, such as entities of which only the bounding box intersects
+     * it, the index filters them.</p>
+     *
+     * @param entities The supplier of the entities
+     * @param within The bounding box query, which is given the box and the
+     *     filter the entities must pass
+     * @param <E> The type of the entities
+     * @return The index
+     */
+    static <E extends Entity> EntityIndex<E> of(final Supplier<? extends Collection<? extends E>> entities,
+            final BiFunction<AABB, Predicate<? super E>, ? extends Collection<? extends E>> within) {
+        return new ScanningEntityIndex<>(Objects.requireNonNull(entities, "entities"), Objects.requireNonNull(within, "within"));
+    }
+
+    /**
+     * Gets the entities of which the position is within the bounding box,
+     * in no particular order.
+     *
+     * @param box The bounding box
+     * @param filter The filter the entities must pass, if any
+     * @return The entities within the box
+     */
+    Collection<? extends E> within(AABB box, @Nullable Predicate<? super E> filter);
+
+    /**
+     * Gets the entities of which the position is within the given distance
+     * of the center, in no particular order.
+     *
+     * @param center The center
+     * @param distance The maximum distance
+     * @param filter The filter the entities must pass, if any
+     * @return The entities within the distance
+     */
+    default Collection<? extends E> within(final Vector3d center, final double distance, final @Nullable Predicate<? super E> filter) {
+        if (distance <= 0) {
+            throw new IllegalArgumentException("Distance must be a positive number!");
+        }
+        final double distanceSquared = distance * distance;
+        return this.within(AABB.of(center.sub(distance, distance, distance), center.add(distance, distance, distance)),
+            entity -> entity.position().distanceSquared(center) <= distanceSquared && (filter == null || filter.test(entity)));
+    }
+
+    /**
+     * Gets the entity nearest to the center within the given distance.
+     *
+     * @param center The center
+     * @param distance The maximum distance, or a negative value to not limit
+     *     the distance
+     * @param filter The filter the entity must pass, if any
+     * @return The nearest entity, if any
+     */
+    default Optional<? extends E> nearest(final Vector3d center, final double distance, final @Nullable Predicate<? super E> filter) {
+        final List<? extends E> nearest = this.nearest(center, 1, distance, filter);
+        return nearest.isEmpty() ? Optional.empty() : Optional.of(nearest.get(0));
+    }
+
+    /**
+     * Gets up to {@code count} entities nearest to the center within the
+     * given distance, ordered from the nearest to the furthest.
+     *
+     * @param center The center
+     * @param count The maximum amount of entities
+     * @param distance The maximum distance, or a negative value to not limit
+     *     the distance
+     * @param filter The filter the entities must pass, if any
+     * @return The nearest entities
+     */
+    List<? extends E> nearest(Vector3d center, int count, double distance, @Nullable Predicate<? super E> filter);
+
+}
@@ -113,19 +113,20 @@ default <T extends Entity> Collection<? extends T> entities(Class<? extends T> e
         return this.entities(entityClass, box, EntityPredicates.NO_SPECTATOR);
     }
 
+    /**
+     * Gets the player nearest to the given position, within the given
+     * distance, which passes the given predicate.
+     *
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param z The z coordinate
+     * @param distance The maximum distance, or a negative value to not limit
+     *     the distance
+     * @param predicate The predicate the player must pass, if any
+     * @return The nearest player, if any
+     */
     default Optional<? extends Player> nearestPlayer(double x, double y, double z, double distance, @Nullable Predicate<? super Entity> predicate) {
-        @Nullable Player nearest = null;
-        double closest = -1.0D;
-        for (Player player : this.players()) {
-            if (predicate == null || predicate.test(player)) {
-                final double dist = player.position().distanceSquared(x, y, z);
-                if ((closest < 0 || dist < distance * distance) && (closest == -1 || dist < distance)) {
-                    nearest = player;
-                    closest = dist;
-                }
-            }
-        }
-        return Optional.ofNullable(nearest);
+        return this.playerIndex().nearest(new Vector3d(x, y, z), distance, predicate);
     }
 
     /**
@@ -142,13 +143,37 @@ default Optional<? extends Player> nearestPlayer(double x, double y, double z, d
      */
     default Collection<? extends Entity> nearbyEntities(Vector3d location, double distance) {
         Objects.requireNonNull(location);
-        if (distance <= 0) {
-            throw new IllegalArgumentException("Distance must be a positive number!");
-        }
 
-        return this.entities(AABB.of(location.x() - distance, location.y() - distance, location.z() - distance,
-                location.x() + distance, location.y() + distance, location.z() + distance),
-            entity -> entity.location().position().distanceSquared(location) <= distance * distance);
+        return this.entityIndex().within(location, distance, null);
+    }
+
+    /**
+     * Gets the spatial index of the entities in this volume, which answers
+     * proximity queries without testing every entity in the volume.
+     *
+     * <p>Implementations should override this with an index that is kept
+     * up to date as entities move. By default queries are answered through
+     * {@link #entities(AABB, Predicate)}, and only the nearest entities
+     * without a distance limit are found by testing every entity.</p>
+     *
+     * @return The entity index
+     */
+    default EntityIndex<Entity> entityIndex() {
+        return EntityIndex.of(this::entities, (box, filter) -> this.entities(box, filter));
+    }
+
+    /**
+     * Gets the spatial index of the {@link Player players} in this volume,
+     * which answers proximity queries without testing every player in the
+     * volume.
+     *
+     * <p>Implementations should override this with an index that is kept
+     * up to date as players move. By default every player is tested.</p>
+     *
+     * @return The player index
+     */
+    default EntityIndex<Player> playerIndex() {
+        return EntityIndex.scanning(this::players);
     }
 
     interface Streamable<E extends Streamable<E>> extends EntityVolume {
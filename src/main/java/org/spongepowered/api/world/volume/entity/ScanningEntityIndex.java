@@ -0,0 +1,111 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.world.volume.entity;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.entity.Entity;
+import org.spongepowered.api.util.AABB;
+import org.spongepowered.math.vector.Vector3d;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+final class ScanningEntityIndex<E extends Entity> implements EntityIndex<E> {
+
+    private final Supplier<? extends Collection<? extends E>> entities;
+    private final @Nullable BiFunction<AABB, Predicate<? super E>, ? extends Collection<? extends E>> boxQuery;
+
+    ScanningEntityIndex(final Supplier<? extends Collection<? extends E>> entities,
+            final @Nullable BiFunction<AABB, Predicate<? super E>, ? extends Collection<? extends E>> boxQuery) {
+        this.entities = entities;
+        this.boxQuery = boxQuery;
+    }
+
+    @Override
+    public Collection<? extends E> within(final AABB box, final @Nullable Predicate<? super E> filter) {
+        if (this.boxQuery != null) {
+            return this.boxQuery.apply(box, entity -> box.contains(entity.position()) && (filter == null || filter.test(entity)));
+        }
+        final List<E> found = new ArrayList<>();
+        for (final E entity : this.entities.get()) {
+            if (box.contains(entity.position()) && (filter == null || filter.test(entity))) {
+                found.add(entity);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public List<? extends E> nearest(final Vector3d center, final int count, final double distance,
+            final @Nullable Predicate<? super E> filter) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Count must be a positive number!");
+        }
+        final double maxDistanceSquared = distance < 0 ? Double.POSITIVE_INFINITY : distance * distance;
+        // A max-heap of the nearest entities found so far, bounded to count
+        final PriorityQueue<Candidate<E>> nearest = new PriorityQueue<>(
+            Comparator.<Candidate<E>>comparingDouble(candidate -> candidate.distanceSquared).reversed());
+        // Only visit the entities near the center if the box query can find them
+        final Collection<? extends E> candidates = distance <= 0 || this.boxQuery == null ? this.entities.get()
+            : this.within(AABB.of(center.sub(distance, distance, distance), center.add(distance, distance, distance)), null);
+        for (final E entity : candidates) {
+            final double distanceSquared = entity.position().distanceSquared(center);
+            if (distanceSquared > maxDistanceSquared || (filter != null && !filter.test(entity))) {
+                continue;
+            }
+            if (nearest.size() < count) {
+                nearest.add(new Candidate<>(entity, distanceSquared));
+            } else if (distanceSquared < nearest.peek().distanceSquared) {
+                nearest.poll();
+                nearest.add(new Candidate<>(entity, distanceSquared));
+            }
+        }
+        final List<E> result = new ArrayList<>(nearest.size());
+        while (!nearest.isEmpty()) {
+            result.add(nearest.poll().entity);
+        }
+        // The heap yields the furthest entity first
+        Collections.reverse(result);
+        return result;
+    }
+
+    private static final class Candidate<E> {
+
+        final E entity;
+        final double distanceSquared;
+
+        Candidate(final E entity, final double distanceSquared) {
+            this.entity = entity;
+            this.distanceSquared = distanceSquared;
+        }
+    }
+}
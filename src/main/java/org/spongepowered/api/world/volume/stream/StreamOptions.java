@@ -26,9 +26,12 @@
 
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.world.World;
+import org.spongepowered.api.world.storage.ChunkLayout;
 import org.spongepowered.api.world.volume.Volume;
 import org.spongepowered.math.vector.Vector3i;
 
+import java.util.concurrent.ForkJoinPool;
+
 public interface StreamOptions {
 
     public static Builder builder() {
@@ -43,6 +46,46 @@ public static StreamOptions forceLoadedAndCopied() {
         return StreamOptions.builder().setCarbonCopy(true).setLoadingStyle(LoadingStyle.FORCED_GENERATED).build();
     }
 
+    public static StreamOptions parallel() {
+        return StreamOptions.builder()
+            .setCarbonCopy(false)
+            .setLoadingStyle(LoadingStyle.FORCED_UNGENERATED)
+            .setParallelism(Parallelism.SECTIONED)
+            .build();
+    }
+
+    /**
+     * The manner in which a {@link VolumeStream} is executed.
+     */
+    enum Parallelism {
+        /**
+         * Elements are visited one at a time, in order, on the thread
+         * executing the terminal operation of the {@link VolumeStream}.
+         */
+        SEQUENTIAL,
+        /**
+         * The requested area is split along the section boundaries of the
+         * {@link ChunkLayout} of the {@link Volume}, such that each section
+         * is visited by a single {@link ForkJoinPool} task and no two tasks
+         * share a section.
+         *
+         * <p>Read-only terminal operations, such as {@link VolumeStream#count()},
+         * {@link VolumeStream#anyMatch(VolumePredicate)} and the collectors of
+         * {@link VolumeStream#toStream()}, are executed concurrently across
+         * sections. {@link VolumeStream#apply(VolumeCollector)} computes the
+         * elements concurrently but applies them to the target volume in
+         * section order, such that the result is identical to a
+         * {@link #SEQUENTIAL} execution.</p>
+         *
+         * <p>The functions passed to the intermediary operations of the stream
+         * may be invoked from multiple threads at once, and therefore must be
+         * thread safe. If the {@link LoadingStyle} requires loading of areas,
+         * that loading will be performed up front on the calling thread.</p>
+         */
+        SECTIONED,
+        ;
+    }
+
     enum LoadingStyle {
         /**
          * Forces the loading of the entire area to calculate the exact
@@ -175,12 +218,22 @@ public boolean immediateLoading() {
      */
     LoadingStyle loadingStyle();
 
+    /**
+     * Gets the {@link Parallelism} with which the {@link VolumeStream} is to be
+     * executed. Defaults to {@link Parallelism#SEQUENTIAL}.
+     *
+     * @return The parallelism
+     */
+    Parallelism parallelism();
+
     interface Builder extends org.spongepowered.api.util.Builder<StreamOptions, Builder> {
 
         Builder setCarbonCopy(boolean copies);
 
         Builder setLoadingStyle(LoadingStyle style);
 
+        Builder setParallelism(Parallelism parallelism);
+
         @Override
         StreamOptions build();
 
@@ -0,0 +1,197 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.world.volume.stream;
+
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.world.volume.Volume;
+import org.spongepowered.math.GenericMath;
+import org.spongepowered.math.vector.Vector3d;
+import org.spongepowered.math.vector.Vector3i;
+
+import java.util.StringJoiner;
+import java.util.function.Supplier;
+
+/**
+ * A reusable, mutable {@link VolumeElement} that is re-pointed at each
+ * position visited by a {@link VolumeStream}, instead of a new element
+ * being created for every position.
+ *
+ * <p>A cursor is only valid for the duration of the call it is passed to,
+ * as the same instance will be updated for the next visited position. It
+ * must not be stored, shared between threads or returned from a mapping
+ * function. Use {@link #snapshot()} to obtain an element that can be
+ * safely retained.</p>
+ *
+ * <p>The coordinates are available as primitives through {@link #x()},
+ * {@link #y()}, {@link #z()} and their block counterparts, such that
+ * a {@link Vector3d} is only created when {@link #position()} is
+ * explicitly requested.</p>
+ *
+ * @param <V> The type of volume
+ * @param <T> The type of element
+ */
+public final class VolumeCursor<V extends Volume, T> implements VolumeElement<V, T> {
+
+    private @MonotonicNonNull V volume;
+    private @Nullable Supplier<? extends T> supplier;
+    private @MonotonicNonNull T type;
+    private double x;
+    private double y;
+    private double z;
+    private @Nullable Vector3d position;
+
+    /**
+     * Creates a new, unset cursor. The cursor must be {@link #set set}
+     * before any of its accessors are used.
+     */
+    public VolumeCursor() {
+    }
+
+    /**
+     * Re-points this cursor at the given position.
+     *
+     * @param volume The volume being streamed
+     * @param type The supplier of the element at the position
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param z The z coordinate
+     * @return This cursor, for chaining
+     */
+    public VolumeCursor<V, T> set(final V volume, final Supplier<? extends T> type, final double x, final double y, final double z) {
+        this.volume = volume;
+        this.supplier = type;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.position = null;
+        return this;
+    }
+
+    /**
+     * Re-points this cursor at the given position, with an already
+     * resolved element.
+     *
+     * @param volume The volume being streamed
+     * @param type The element at the position
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param z The z coordinate
+     * @return This cursor, for chaining
+     */
+    public VolumeCursor<V, T> setResolved(final V volume, final T type, final double x, final double y, final double z) {
+        this.volume = volume;
+        this.supplier = null;
+        this.type = type;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.position = null;
+        return this;
+    }
+
+    @Override
+    public V volume() {
+        return this.volume;
+    }
+
+    @Override
+    public T type() {
+        final @Nullable Supplier<? extends T> supplier = this.supplier;
+        if (supplier != null) {
+            this.type = supplier.get();
+            this.supplier = null;
+        }
+        return this.type;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The position is lazily created once per visited position, prefer
+     * the primitive accessors where possible.</p>
+     */
+    @Override
+    public Vector3d position() {
+        if (this.position == null) {
+            this.position = new Vector3d(this.x, this.y, this.z);
+        }
+        return this.position;
+    }
+
+    public double x() {
+        return this.x;
+    }
+
+    public double y() {
+        return this.y;
+    }
+
+    public double z() {
+        return this.z;
+    }
+
+    public int blockX() {
+        return GenericMath.floor(this.x);
+    }
+
+    public int blockY() {
+        return GenericMath.floor(this.y);
+    }
+
+    public int blockZ() {
+        return GenericMath.floor(this.z);
+    }
+
+    /**
+     * Gets the block position of this cursor.
+     *
+     * @return The block position
+     */
+    public Vector3i blockPosition() {
+        return new Vector3i(this.blockX(), this.blockY(), this.blockZ());
+    }
+
+    /**
+     * Creates an immutable {@link VolumeElement} of the current state of this
+     * cursor, which may be safely retained after the cursor has moved on.
+     *
+     * @return The detached element
+     */
+    public VolumeElement<V, T> snapshot() {
+        return VolumeElement.of(this.volume, this.type(), this.position());
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", VolumeCursor.class.getSimpleName() + "[", "]")
+            .add("volume=" + this.volume)
+            .add("x=" + this.x)
+            .add("y=" + this.y)
+            .add("z=" + this.z)
+            .toString();
+    }
+
+}
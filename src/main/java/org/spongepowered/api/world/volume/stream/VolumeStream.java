@@ -50,7 +50,25 @@
  *     <li>{@link #filter(Predicate)}</li>
  *     <li>{@link #map(VolumeMapper) map(VolumeMapper&lt;V, T&gt;)}</li>
  *     <li>{@link #map(Function) map(Function&lt;VolumeElement&lt;V, T&gt;&gt;)}</li>
+ *     <li>{@link #filterCursor(Predicate)}</li>
+ *     <li>{@link #mapCursor(Function)}</li>
+ *     <li>{@link #flatMapCursor(Function)}</li>
  * </ul>
+ *
+ * <p><strong>Cursor Operations</strong>
+ * <p>The {@link Predicate}, {@link Function} and {@link Consumer} overloads
+ * create a new {@link VolumeElement} for every visited position, such that
+ * the element may be retained by the caller. The {@code *Cursor} variants
+ * instead re-use a single {@link VolumeCursor} per operation and thread,
+ * keeping the pipeline free of per-element allocation. The cursor passed
+ * to these operations must not escape the call it was passed to.
+ *
+ * <p><strong>Parallel Execution</strong>
+ * <p>A stream created with {@link StreamOptions.Parallelism#SECTIONED} is
+ * partitioned along the section boundaries of the backing {@link Volume}
+ * and its operations may be invoked concurrently, see
+ * {@link StreamOptions.Parallelism} for the guarantees of each terminal
+ * operation.
  * <p><strong>Terminal Operations</strong>
  * <p>These operations are consuming the entirety of the stream, after all
  * intermediary operations are performed on elements, perhaps filtering, or
@@ -70,18 +88,58 @@ default VolumeStream<V, T> filter(final Predicate<VolumeElement<V, ? super T>> p
         return this.filter((volume, element, x, y, z) -> predicate.test(VolumeElement.of(volume, element, new Vector3d(x, y, z))));
     }
 
+    /**
+     * Filters this stream with a re-used {@link VolumeCursor}, avoiding the
+     * creation of a {@link VolumeElement} for each tested position.
+     *
+     * @param predicate The predicate, which must not retain the cursor
+     * @return The filtered stream
+     * @see VolumeCursor
+     */
+    default VolumeStream<V, T> filterCursor(final Predicate<? super VolumeCursor<V, T>> predicate) {
+        final ThreadLocal<VolumeCursor<V, T>> cursor = ThreadLocal.withInitial(VolumeCursor::new);
+        return this.filter((volume, element, x, y, z) -> predicate.test(cursor.get().set(volume, element, x, y, z)));
+    }
+
     <Out> VolumeStream<V, Out> map(VolumeMapper<V, T, Out> mapper);
 
     default <Out> VolumeStream<V, Out> map(final Function<VolumeElement<V, T>, ? extends Out> mapper) {
         return this.map((volume, value, x, y, z) -> mapper.apply(VolumeElement.of(volume, value, new Vector3d(x, y, z))));
     }
 
+    /**
+     * Maps this stream with a re-used {@link VolumeCursor}, avoiding the
+     * creation of a {@link VolumeElement} for each mapped position.
+     *
+     * @param mapper The mapper, which must not retain or return the cursor
+     * @param <Out> The type of the mapped elements
+     * @return The mapped stream
+     * @see VolumeCursor
+     */
+    default <Out> VolumeStream<V, Out> mapCursor(final Function<? super VolumeCursor<V, T>, ? extends Out> mapper) {
+        final ThreadLocal<VolumeCursor<V, T>> cursor = ThreadLocal.withInitial(VolumeCursor::new);
+        return this.map((volume, value, x, y, z) -> mapper.apply(cursor.get().set(volume, value, x, y, z)));
+    }
+
     VolumeStream<V, Optional<? extends T>> flatMap(VolumeFlatMapper<V, T> mapper);
 
     default VolumeStream<V, Optional<? extends T>> flatMap(final Function<VolumeElement<V, T>, Optional<? extends T>> mapper) {
         return this.flatMap((volume, value, x, y, z) -> mapper.apply(VolumeElement.of(volume, value, new Vector3d(x, y, z))));
     }
 
+    /**
+     * Flat maps this stream with a re-used {@link VolumeCursor}, avoiding the
+     * creation of a {@link VolumeElement} for each mapped position.
+     *
+     * @param mapper The mapper, which must not retain or return the cursor
+     * @return The flat mapped stream
+     * @see VolumeCursor
+     */
+    default VolumeStream<V, Optional<? extends T>> flatMapCursor(final Function<? super VolumeCursor<V, T>, Optional<? extends T>> mapper) {
+        final ThreadLocal<VolumeCursor<V, T>> cursor = ThreadLocal.withInitial(VolumeCursor::new);
+        return this.flatMap((volume, value, x, y, z) -> mapper.apply(cursor.get().set(volume, value, x, y, z)));
+    }
+
     VolumeStream<V, T> transform(VolumePositionTranslator<V, T> transformer);
 
     long count();
@@ -92,6 +150,18 @@ default boolean allMatch(final Predicate<VolumeElement<V, ? super T>> predicate)
         return this.allMatch((volume, element, x, y, z) -> predicate.test(VolumeElement.of(volume, element, new Vector3d(x, y, z))));
     }
 
+    /**
+     * Tests whether all elements match with a re-used {@link VolumeCursor}.
+     *
+     * @param predicate The predicate, which must not retain the cursor
+     * @return True if all elements match
+     * @see VolumeCursor
+     */
+    default boolean allMatchCursor(final Predicate<? super VolumeCursor<V, T>> predicate) {
+        final ThreadLocal<VolumeCursor<V, T>> cursor = ThreadLocal.withInitial(VolumeCursor::new);
+        return this.allMatch((volume, element, x, y, z) -> predicate.test(cursor.get().set(volume, element, x, y, z)));
+    }
+
     boolean noneMatch(VolumePredicate<V, ? super T> predicate);
 
     default boolean noneMatch(final Predicate<VolumeElement<V, ? super T>> predicate) {
@@ -104,6 +174,18 @@ default boolean anyMatch(final Predicate<VolumeElement<V, ? super T>> predicate)
         return this.anyMatch((volume, element, x, y, z) -> predicate.test(VolumeElement.of(volume, element, new Vector3d(x, y, z))));
     }
 
+    /**
+     * Tests whether any element matches with a re-used {@link VolumeCursor}.
+     *
+     * @param predicate The predicate, which must not retain the cursor
+     * @return True if any element matches
+     * @see VolumeCursor
+     */
+    default boolean anyMatchCursor(final Predicate<? super VolumeCursor<V, T>> predicate) {
+        final ThreadLocal<VolumeCursor<V, T>> cursor = ThreadLocal.withInitial(VolumeCursor::new);
+        return this.anyMatch((volume, element, x, y, z) -> predicate.test(cursor.get().set(volume, element, x, y, z)));
+    }
+
     Optional<VolumeElement<V, T>> findFirst();
 
     Optional<VolumeElement<V, T>> findAny();
@@ -122,4 +204,16 @@ default void forEach(final Consumer<VolumeElement<V, T>> consumer) {
         this.forEach((volume, type, x, y, z) -> consumer.accept(VolumeElement.of(volume, type, new Vector3d(x, y, z))));
     }
 
+    /**
+     * Visits every element with a re-used {@link VolumeCursor}, avoiding the
+     * creation of a {@link VolumeElement} for each visited position.
+     *
+     * @param consumer The consumer, which must not retain the cursor
+     * @see VolumeCursor
+     */
+    default void forEachCursor(final Consumer<? super VolumeCursor<V, T>> consumer) {
+        final ThreadLocal<VolumeCursor<V, T>> cursor = ThreadLocal.withInitial(VolumeCursor::new);
+        this.forEach((volume, type, x, y, z) -> consumer.accept(cursor.get().setResolved(volume, type, x, y, z)));
+    }
+
 }
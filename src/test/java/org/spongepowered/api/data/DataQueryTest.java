@@ -139,6 +139,38 @@ void testLast() {
         Assertions.assertEquals(lastExpected, full.last());
     }
 
+    /**
+     * Method: popFirst()
+     */
+    @Test
+    void testPopFirst() {
+        final DataQuery full = DataQuery.of("this", "test", "query");
+        Assertions.assertEquals(DataQuery.of("test", "query"), full.popFirst());
+        Assertions.assertEquals(DataQuery.of("query"), full.popFirst().popFirst());
+        Assertions.assertEquals(DataQuery.of(), DataQuery.of("single").popFirst());
+        Assertions.assertEquals(DataQuery.of(), DataQuery.of().popFirst());
+    }
+
+    /**
+     * Method: of(char separator, String path)
+     */
+    @Test
+    void testOfMatchesSplit() {
+        for (final String path : new String[] {"a.b.c", "", "a..b", ".a", "a.b.", ".", "a...", "...b"}) {
+            Assertions.assertEquals(List.of(path.split("\\.")), DataQuery.of('.', path).parts(), path);
+        }
+    }
+
+    @Test
+    void testInterned() {
+        final DataQuery query = DataQuery.of("this", "test", "query");
+        Assertions.assertSame(query, DataQuery.of('.', "this.test.query"));
+        Assertions.assertSame(query, DataQuery.of("this").then("test").then(DataQuery.of("query")));
+        Assertions.assertSame(query.pop(), DataQuery.of("this", "test"));
+        Assertions.assertSame(query.last(), DataQuery.of("query"));
+        Assertions.assertEquals(List.of("this", "test", "query").hashCode(), query.hashCode());
+    }
+
     /**
      * Method: equals(Object obj)
      */
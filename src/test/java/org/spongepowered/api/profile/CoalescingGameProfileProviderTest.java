@@ -0,0 +1,242 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.profile;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+class CoalescingGameProfileProviderTest {
+
+    private static GameProfile profile(final UUID uniqueId, final String name) {
+        final GameProfile profile = Mockito.mock(GameProfile.class);
+        Mockito.when(profile.uniqueId()).thenReturn(uniqueId);
+        Mockito.when(profile.name()).thenReturn(Optional.of(name));
+        return profile;
+    }
+
+    @Test
+    void testConcurrentLookupsAreCoalesced() {
+        final FakeProvider fake = new FakeProvider();
+        final CoalescingGameProfileProvider provider = CoalescingGameProfileProvider.builder().build(fake);
+        final UUID uniqueId = UUID.randomUUID();
+
+        final CompletableFuture<GameProfile> first = provider.basicProfile(uniqueId);
+        final CompletableFuture<GameProfile> second = provider.basicProfile(uniqueId);
+        Assertions.assertEquals(1, fake.idLookups.size());
+
+        final GameProfile profile = CoalescingGameProfileProviderTest.profile(uniqueId, "Alice");
+        fake.pendingId.complete(profile);
+        Assertions.assertSame(profile, first.join());
+        Assertions.assertSame(profile, second.join());
+
+        Assertions.assertSame(profile, provider.basicProfile(uniqueId).join());
+        Assertions.assertEquals(1, fake.idLookups.size());
+        final CoalescingGameProfileProvider.Statistics statistics = provider.statistics();
+        Assertions.assertEquals(1, statistics.hitCount());
+        Assertions.assertEquals(2, statistics.missCount());
+        Assertions.assertEquals(1, statistics.coalescedCount());
+    }
+
+    @Test
+    void testNameLookupsAreBatched() {
+        final FakeProvider fake = new FakeProvider();
+        fake.names.put("alice", CoalescingGameProfileProviderTest.profile(UUID.randomUUID(), "Alice"));
+        fake.names.put("bob", CoalescingGameProfileProviderTest.profile(UUID.randomUUID(), "Bob"));
+        final CoalescingGameProfileProvider provider = CoalescingGameProfileProvider.builder()
+            .batchWindow(Duration.ofHours(1))
+            .maxBatchSize(3)
+            .build(fake);
+
+        final CompletableFuture<GameProfile> alice = provider.basicProfile("Alice");
+        final CompletableFuture<GameProfile> bob = provider.basicProfile("BOB");
+        Assertions.assertTrue(fake.batches.isEmpty());
+        final CompletableFuture<GameProfile> carol = provider.basicProfile("carol");
+
+        Assertions.assertEquals(List.of(Set.of("alice", "bob", "carol")), fake.batches);
+        Assertions.assertEquals(Optional.of("Alice"), alice.join().name());
+        Assertions.assertEquals(Optional.of("Bob"), bob.join().name());
+        final CompletionException exception = Assertions.assertThrows(CompletionException.class, carol::join);
+        Assertions.assertInstanceOf(ProfileNotFoundException.class, exception.getCause());
+    }
+
+    @Test
+    void testScheduledFlushOnlyStartsItsOwnBatch() {
+        final FakeProvider fake = new FakeProvider();
+        final List<Runnable> flushes = new CopyOnWriteArrayList<>();
+        final ScheduledExecutorService scheduler = Mockito.mock(ScheduledExecutorService.class);
+        Mockito.when(scheduler.schedule(Mockito.any(Runnable.class), Mockito.anyLong(), Mockito.any(TimeUnit.class))).thenAnswer(invocation -> {
+            flushes.add(invocation.getArgument(0));
+            return null;
+        });
+        final CoalescingGameProfileProvider provider = CoalescingGameProfileProvider.builder()
+            .batchWindow(Duration.ofHours(1))
+            .maxBatchSize(2)
+            .scheduler(scheduler)
+            .build(fake);
+
+        provider.basicProfile("alice");
+        provider.basicProfile("bob");
+        provider.basicProfile("carol");
+        Assertions.assertEquals(List.of(Set.of("alice", "bob")), fake.batches);
+
+        flushes.get(0).run();
+        Assertions.assertEquals(1, fake.batches.size());
+        flushes.get(1).run();
+        Assertions.assertEquals(List.of(Set.of("alice", "bob"), Set.of("carol")), fake.batches);
+    }
+
+    @Test
+    void testCloseStartsQueuedLookups() {
+        final FakeProvider fake = new FakeProvider();
+        final CoalescingGameProfileProvider provider = CoalescingGameProfileProvider.builder()
+            .batchWindow(Duration.ofHours(1))
+            .build(fake);
+
+        provider.basicProfile("alice");
+        provider.close();
+        Assertions.assertEquals(List.of(Set.of("alice")), fake.batches);
+        provider.basicProfile("bob");
+        Assertions.assertEquals(List.of(Set.of("alice"), Set.of("bob")), fake.batches);
+    }
+
+    @Test
+    void testInvalidationDuringLookupIsNotCached() {
+        final FakeProvider fake = new FakeProvider();
+        final CoalescingGameProfileProvider provider = CoalescingGameProfileProvider.builder().build(fake);
+        final UUID uniqueId = UUID.randomUUID();
+
+        final CompletableFuture<GameProfile> stale = provider.basicProfile(uniqueId);
+        provider.invalidate(uniqueId);
+        fake.pendingId.complete(CoalescingGameProfileProviderTest.profile(uniqueId, "Alice"));
+        stale.join();
+
+        provider.basicProfile(uniqueId).join();
+        Assertions.assertEquals(2, fake.idLookups.size());
+        provider.basicProfile(uniqueId).join();
+        Assertions.assertEquals(2, fake.idLookups.size());
+    }
+
+    @Test
+    void testBatchLookupOnlyOmitsMissingProfiles() {
+        final FakeProvider fake = new FakeProvider();
+        fake.names.put("alice", CoalescingGameProfileProviderTest.profile(UUID.randomUUID(), "Alice"));
+        final CoalescingGameProfileProvider provider = CoalescingGameProfileProvider.builder()
+            .batchWindow(Duration.ZERO)
+            .build(fake);
+
+        Assertions.assertEquals(Set.of("alice"), provider.basicProfiles(List.of("alice", "bob")).join().keySet());
+
+        fake.failure = new IllegalStateException("Rate limited");
+        final CompletionException exception = Assertions.assertThrows(CompletionException.class,
+            () -> provider.basicProfiles(List.of("carol")).join());
+        Assertions.assertSame(fake.failure, exception.getCause());
+    }
+
+    @Test
+    void testProfilesExpire() {
+        final FakeProvider fake = new FakeProvider();
+        final long[] time = {0};
+        final CoalescingGameProfileProvider provider = CoalescingGameProfileProvider.builder()
+            .expireAfterWrite(Duration.ofNanos(10))
+            .ticker(() -> time[0])
+            .build(fake);
+        final UUID uniqueId = UUID.randomUUID();
+        fake.pendingId.complete(CoalescingGameProfileProviderTest.profile(uniqueId, "Alice"));
+
+        provider.basicProfile(uniqueId).join();
+        provider.basicProfile(uniqueId).join();
+        Assertions.assertEquals(1, fake.idLookups.size());
+
+        time[0] = 10;
+        provider.basicProfile(uniqueId).join();
+        Assertions.assertEquals(2, fake.idLookups.size());
+        Assertions.assertEquals(1, provider.statistics().evictionCount());
+    }
+
+    private static final class FakeProvider implements GameProfileProvider {
+
+        final List<UUID> idLookups = new CopyOnWriteArrayList<>();
+        final List<Set<String>> batches = new CopyOnWriteArrayList<>();
+        final Map<String, GameProfile> names = new HashMap<>();
+        final CompletableFuture<GameProfile> pendingId = new CompletableFuture<>();
+        @Nullable RuntimeException failure;
+
+        @Override
+        public CompletableFuture<GameProfile> basicProfile(final UUID uniqueId) {
+            this.idLookups.add(uniqueId);
+            return this.pendingId;
+        }
+
+        @Override
+        public CompletableFuture<GameProfile> basicProfile(final String name, final @Nullable Instant time) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<Map<String, GameProfile>> basicProfiles(final Iterable<String> names, final @Nullable Instant time) {
+            final Set<String> batch = new HashSet<>();
+            names.forEach(batch::add);
+            this.batches.add(batch);
+            if (this.failure != null) {
+                return CompletableFuture.failedFuture(this.failure);
+            }
+            final Map<String, GameProfile> found = new HashMap<>();
+            for (final String name : batch) {
+                final @Nullable GameProfile profile = this.names.get(name);
+                if (profile != null) {
+                    found.put(name, profile);
+                }
+            }
+            return CompletableFuture.completedFuture(found);
+        }
+
+        @Override
+        public CompletableFuture<GameProfile> profile(final String name, final boolean signed) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<GameProfile> profile(final UUID uniqueId, final boolean signed) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.profile;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.spongepowered.api.profile.property.ProfileProperty;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+class MappedGameProfileCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private static GameProfile profile(final UUID uniqueId, final @Nullable String name, final List<ProfileProperty> properties) {
+        final GameProfile profile = Mockito.mock(GameProfile.class);
+        Mockito.when(profile.uniqueId()).thenReturn(uniqueId);
+        Mockito.when(profile.name()).thenReturn(Optional.ofNullable(name));
+        Mockito.when(profile.properties()).thenReturn(properties);
+        return profile;
+    }
+
+    private static GameProfile profile(final String name) {
+        return MappedGameProfileCacheTest.profile(UUID.randomUUID(), name, List.of());
+    }
+
+    private static Set<String> names(final Iterable<GameProfile> profiles) {
+        final Set<String> names = new HashSet<>();
+        profiles.forEach(profile -> names.add(profile.name().orElseThrow()));
+        return names;
+    }
+
+    private MappedGameProfileCache open() throws Exception {
+        return MappedGameProfileCache.open(this.directory.resolve("profiles.cache"), new MockDecoder());
+    }
+
+    @Test
+    void testLookupsAndPrefixMatches() throws Exception {
+        final GameProfile alice = MappedGameProfileCacheTest.profile("Alice");
+        try (final MappedGameProfileCache cache = this.open()) {
+            cache.add(alice);
+            cache.add(MappedGameProfileCacheTest.profile("alan"));
+            cache.add(MappedGameProfileCacheTest.profile("Bob"));
+
+            Assertions.assertEquals(Optional.of("Alice"), cache.findById(alice.uniqueId()).flatMap(GameProfile::name));
+            Assertions.assertEquals(Optional.of(alice.uniqueId()), cache.findByName("ALICE").map(GameProfile::uniqueId));
+            Assertions.assertEquals(Optional.empty(), cache.findByName("carol"));
+            Assertions.assertEquals(Set.of("Alice", "alan"), MappedGameProfileCacheTest.names(cache.allMatches("AL")));
+            Assertions.assertEquals(Set.of("Bob"), cache.streamOfMatches("b").map(profile -> profile.name().orElseThrow())
+                .collect(Collectors.toSet()));
+            Assertions.assertEquals(3, cache.all().size());
+        }
+    }
+
+    @Test
+    void testChangesAreReplayed() throws Exception {
+        final UUID renamed = UUID.randomUUID();
+        final UUID removed = UUID.randomUUID();
+        try (final MappedGameProfileCache cache = this.open()) {
+            cache.add(MappedGameProfileCacheTest.profile(renamed, "Alice", List.of()));
+            cache.add(MappedGameProfileCacheTest.profile(removed, "Bob", List.of()));
+            final ProfileProperty textures = new MockDecoder().property("textures", "value", "signature");
+            cache.add(MappedGameProfileCacheTest.profile(renamed, "Alicia", List.of(textures)));
+            Assertions.assertTrue(cache.remove(MappedGameProfileCacheTest.profile(removed, "Bob", List.of())));
+            Assertions.assertFalse(cache.remove(MappedGameProfileCacheTest.profile(removed, "Bob", List.of())));
+        }
+        try (final MappedGameProfileCache cache = this.open()) {
+            Assertions.assertEquals(Optional.empty(), cache.findById(removed));
+            Assertions.assertEquals(Optional.empty(), cache.findByName("Alice"));
+            final GameProfile profile = cache.findByName("alicia").orElseThrow();
+            Assertions.assertEquals(renamed, profile.uniqueId());
+            final ProfileProperty property = profile.properties().get(0);
+            Assertions.assertEquals("textures", property.name());
+            Assertions.assertEquals("value", property.value());
+            Assertions.assertEquals(Optional.of("signature"), property.signature());
+            Assertions.assertEquals(1, cache.all().size());
+        }
+    }
+
+    @Test
+    void testFileGrowsAndIsCompacted() throws Exception {
+        final List<GameProfile> profiles = new ArrayList<>();
+        try (final MappedGameProfileCache cache = this.open()) {
+            for (int i = 0; i < 5000; i++) {
+                final GameProfile profile = MappedGameProfileCacheTest.profile("player" + i);
+                profiles.add(profile);
+                cache.add(profile);
+            }
+            cache.removeIf(profile -> !profile.name().orElseThrow().endsWith("0"));
+        }
+        final long size = Files.size(this.directory.resolve("profiles.cache"));
+        try (final MappedGameProfileCache cache = this.open()) {
+            Assertions.assertTrue(Files.size(this.directory.resolve("profiles.cache")) < size);
+            Assertions.assertEquals(500, cache.all().size());
+            Assertions.assertEquals(Optional.of(profiles.get(4990).uniqueId()), cache.findByName("player4990").map(GameProfile::uniqueId));
+            Assertions.assertEquals(Optional.empty(), cache.findById(profiles.get(4991).uniqueId()));
+            cache.clear();
+            Assertions.assertEquals(List.of(), List.copyOf(cache.all()));
+        }
+        try (final MappedGameProfileCache cache = this.open()) {
+            Assertions.assertEquals(List.of(), List.copyOf(cache.all()));
+        }
+    }
+
+    @Test
+    void testClosedCacheRejectsOperations() throws Exception {
+        final MappedGameProfileCache cache = this.open();
+        cache.add(MappedGameProfileCacheTest.profile("Alice"));
+        cache.close();
+        cache.close();
+
+        Assertions.assertThrows(IllegalStateException.class, () -> cache.findByName("Alice"));
+        Assertions.assertThrows(IllegalStateException.class, () -> cache.add(MappedGameProfileCacheTest.profile("Bob")));
+    }
+
+    private static final class MockDecoder implements MappedGameProfileCache.Decoder {
+
+        @Override
+        public GameProfile profile(final UUID uniqueId, final @Nullable String name, final List<ProfileProperty> properties) {
+            return MappedGameProfileCacheTest.profile(uniqueId, name, properties);
+        }
+
+        @Override
+        public ProfileProperty property(final String name, final String value, final @Nullable String signature) {
+            final ProfileProperty property = Mockito.mock(ProfileProperty.class);
+            Mockito.when(property.name()).thenReturn(name);
+            Mockito.when(property.value()).thenReturn(value);
+            Mockito.when(property.signature()).thenReturn(Optional.ofNullable(signature));
+            return property;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.service.ban;
+
+import net.kyori.adventure.text.Component;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.spongepowered.api.profile.GameProfile;
+
+import java.net.InetAddress;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+class IndexedBanServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private static InetAddress address(final String address) throws Exception {
+        return InetAddress.getByName(address);
+    }
+
+    private static Ban.IP ipBan(final InetAddress address, final int prefixLength) {
+        final Ban.IP ban = Mockito.mock(Ban.IP.class);
+        Mockito.when(ban.address()).thenReturn(address);
+        Mockito.when(ban.prefixLength()).thenReturn(prefixLength);
+        Mockito.when(ban.creationDate()).thenReturn(Instant.EPOCH);
+        Mockito.when(ban.expirationDate()).thenReturn(Optional.empty());
+        Mockito.when(ban.reason()).thenReturn(Optional.empty());
+        Mockito.when(ban.banSource()).thenReturn(Optional.empty());
+        return ban;
+    }
+
+    private static Ban.Profile profileBan(final UUID uniqueId) {
+        final GameProfile profile = Mockito.mock(GameProfile.class);
+        Mockito.when(profile.uniqueId()).thenReturn(uniqueId);
+        Mockito.when(profile.name()).thenReturn(Optional.empty());
+        final Ban.Profile ban = Mockito.mock(Ban.Profile.class);
+        Mockito.when(ban.profile()).thenReturn(profile);
+        Mockito.when(ban.creationDate()).thenReturn(Instant.EPOCH);
+        Mockito.when(ban.expirationDate()).thenReturn(Optional.empty());
+        Mockito.when(ban.reason()).thenReturn(Optional.empty());
+        Mockito.when(ban.banSource()).thenReturn(Optional.empty());
+        return ban;
+    }
+
+    @Test
+    void testFindsMostSpecificBanCoveringAddress() throws Exception {
+        final IndexedBanService service = IndexedBanService.inMemory();
+        final Ban.IP range = IndexedBanServiceTest.ipBan(IndexedBanServiceTest.address("10.1.0.0"), 16);
+        final Ban.IP exact = IndexedBanServiceTest.ipBan(IndexedBanServiceTest.address("10.1.2.3"), 32);
+        service.add(range).join();
+        service.add(exact).join();
+
+        Assertions.assertEquals(Optional.of(exact), service.find(IndexedBanServiceTest.address("10.1.2.3")).join());
+        Assertions.assertEquals(Optional.of(range), service.find(IndexedBanServiceTest.address("10.1.9.9")).join());
+        Assertions.assertEquals(Optional.empty(), service.find(IndexedBanServiceTest.address("10.2.0.1")).join());
+        Assertions.assertEquals(Optional.empty(), service.find(IndexedBanServiceTest.address("::1")).join());
+    }
+
+    @Test
+    void testPardonOnlyRemovesExactBan() throws Exception {
+        final IndexedBanService service = IndexedBanService.inMemory();
+        final Ban.IP range = IndexedBanServiceTest.ipBan(IndexedBanServiceTest.address("10.1.0.0"), 16);
+        service.add(range).join();
+        service.add(IndexedBanServiceTest.ipBan(IndexedBanServiceTest.address("10.1.2.3"), 32)).join();
+
+        Assertions.assertTrue(service.pardon(IndexedBanServiceTest.address("10.1.2.3")).join());
+        Assertions.assertEquals(Optional.of(range), service.find(IndexedBanServiceTest.address("10.1.2.3")).join());
+        Assertions.assertFalse(service.pardon(IndexedBanServiceTest.address("10.1.9.9")).join());
+        Assertions.assertEquals(Optional.of(range), service.find(IndexedBanServiceTest.address("10.1.9.9")).join());
+
+        Assertions.assertTrue(service.remove(range).join());
+        Assertions.assertTrue(service.ipBans().join().isEmpty());
+    }
+
+    @Test
+    void testReloadsBansFromLog() throws Exception {
+        final Path file = this.directory.resolve("bans.log");
+        final UUID uniqueId = UUID.randomUUID();
+        try (final IndexedBanService service = IndexedBanService.open(file, Clock.systemUTC(), new MockDecoder())) {
+            service.add(IndexedBanServiceTest.profileBan(uniqueId)).join();
+            service.add(IndexedBanServiceTest.profileBan(UUID.randomUUID())).join();
+            service.add(IndexedBanServiceTest.ipBan(IndexedBanServiceTest.address("10.1.0.0"), 16)).join();
+            service.add(IndexedBanServiceTest.ipBan(IndexedBanServiceTest.address("10.1.2.3"), 32)).join();
+            service.pardon(IndexedBanServiceTest.address("10.1.2.3")).join();
+            service.pardon(service.profileBans().join().stream()
+                    .filter(ban -> !ban.profile().uniqueId().equals(uniqueId))
+                    .findFirst().orElseThrow().profile()).join();
+        }
+
+        try (final IndexedBanService service = IndexedBanService.open(file, Clock.systemUTC(), new MockDecoder())) {
+            Assertions.assertEquals(1, service.profileBans().join().size());
+            Assertions.assertEquals(uniqueId, service.profileBans().join().iterator().next().profile().uniqueId());
+            final Ban.IP found = service.find(IndexedBanServiceTest.address("10.1.2.3")).join().orElseThrow();
+            Assertions.assertEquals(IndexedBanServiceTest.address("10.1.0.0"), found.address());
+            Assertions.assertEquals(16, found.prefixLength());
+            Assertions.assertEquals(1, service.ipBans().join().size());
+        }
+    }
+
+    private static final class MockDecoder implements IndexedBanService.Decoder {
+
+        @Override
+        public Ban profile(final UUID uniqueId, final @Nullable String name, final Instant start, final @Nullable Instant expiration,
+                final @Nullable Component reason, final @Nullable Component source) {
+            return IndexedBanServiceTest.profileBan(uniqueId);
+        }
+
+        @Override
+        public Ban ip(final InetAddress address, final int prefixLength, final Instant start, final @Nullable Instant expiration,
+                final @Nullable Component reason, final @Nullable Component source) {
+            return IndexedBanServiceTest.ipBan(address, prefixLength);
+        }
+    }
+}
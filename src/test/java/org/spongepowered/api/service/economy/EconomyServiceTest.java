@@ -0,0 +1,123 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.service.economy;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.spongepowered.api.event.Cause;
+import org.spongepowered.api.service.economy.account.Account;
+import org.spongepowered.api.service.economy.transaction.ResultType;
+import org.spongepowered.api.service.economy.transaction.Settlement;
+import org.spongepowered.api.service.economy.transaction.SettlementResult;
+import org.spongepowered.api.service.economy.transaction.TransactionResult;
+
+import java.math.BigDecimal;
+
+class EconomyServiceTest {
+
+    private final EconomyService service = Mockito.mock(EconomyService.class, Mockito.CALLS_REAL_METHODS);
+    private final Currency currency = Mockito.mock(Currency.class);
+    private final Cause cause = Mockito.mock(Cause.class);
+
+    private static TransactionResult result(final ResultType type) {
+        final TransactionResult result = Mockito.mock(TransactionResult.class);
+        Mockito.when(result.result()).thenReturn(type);
+        return result;
+    }
+
+    private static Account account(final String identifier, final BigDecimal[] balance) {
+        final Account account = Mockito.mock(Account.class);
+        Mockito.when(account.identifier()).thenReturn(identifier);
+        Mockito.when(account.withdraw(Mockito.any(Currency.class), Mockito.any(BigDecimal.class), Mockito.any(Cause.class)))
+            .thenAnswer(invocation -> {
+                final BigDecimal amount = invocation.getArgument(1);
+                if (balance[0].compareTo(amount) < 0) {
+                    return EconomyServiceTest.result(ResultType.ACCOUNT_NO_FUNDS);
+                }
+                balance[0] = balance[0].subtract(amount);
+                return EconomyServiceTest.result(ResultType.SUCCESS);
+            });
+        Mockito.when(account.deposit(Mockito.any(Currency.class), Mockito.any(BigDecimal.class), Mockito.any(Cause.class)))
+            .thenAnswer(invocation -> {
+                balance[0] = balance[0].add(invocation.getArgument(1));
+                return EconomyServiceTest.result(ResultType.SUCCESS);
+            });
+        return account;
+    }
+
+    @Test
+    void testFailedLegRevertsExecutedLegs() {
+        final BigDecimal[] alice = {BigDecimal.TEN};
+        final BigDecimal[] bob = {BigDecimal.ONE};
+        final Settlement settlement = Settlement.builder()
+            .debit(EconomyServiceTest.account("alice", alice), this.currency, new BigDecimal(3))
+            .debit(EconomyServiceTest.account("bob", bob), this.currency, new BigDecimal(3))
+            .build();
+
+        final SettlementResult result = this.service.settle(settlement, this.cause);
+        Assertions.assertEquals(ResultType.ACCOUNT_NO_FUNDS, result.result());
+        Assertions.assertTrue(result.isConsistent());
+        Assertions.assertEquals(1, result.reverts().size());
+        Assertions.assertEquals(BigDecimal.TEN, alice[0]);
+        Assertions.assertEquals(BigDecimal.ONE, bob[0]);
+    }
+
+    @Test
+    void testFailedRevertIsInconsistent() {
+        final BigDecimal[] alice = {BigDecimal.TEN};
+        final Account account = EconomyServiceTest.account("alice", alice);
+        final TransactionResult failed = EconomyServiceTest.result(ResultType.FAILED);
+        Mockito.doReturn(failed).when(account).deposit(Mockito.any(Currency.class), Mockito.any(BigDecimal.class), Mockito.any(Cause.class));
+        final Settlement settlement = Settlement.builder()
+            .debit(account, this.currency, new BigDecimal(3))
+            .debit(EconomyServiceTest.account("bob", new BigDecimal[] {BigDecimal.ZERO}), this.currency, BigDecimal.ONE)
+            .build();
+
+        final SettlementResult result = this.service.settle(settlement, this.cause);
+        Assertions.assertEquals(ResultType.ACCOUNT_NO_FUNDS, result.result());
+        Assertions.assertFalse(result.isConsistent());
+        Assertions.assertEquals(new BigDecimal(7), alice[0]);
+    }
+
+    @Test
+    void testThrowingLegRevertsExecutedLegs() {
+        final BigDecimal[] alice = {BigDecimal.TEN};
+        final Account bob = Mockito.mock(Account.class);
+        Mockito.when(bob.identifier()).thenReturn("bob");
+        Mockito.when(bob.deposit(Mockito.any(Currency.class), Mockito.any(BigDecimal.class), Mockito.any(Cause.class)))
+            .thenThrow(new IllegalStateException("Storage is offline"));
+        final Settlement settlement = Settlement.builder()
+            .debit(EconomyServiceTest.account("alice", alice), this.currency, new BigDecimal(3))
+            .credit(bob, this.currency, new BigDecimal(3))
+            .build();
+
+        final IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class,
+                () -> this.service.settle(settlement, this.cause));
+        Assertions.assertEquals("Storage is offline", exception.getMessage());
+        Assertions.assertEquals(0, exception.getSuppressed().length);
+        Assertions.assertEquals(BigDecimal.TEN, alice[0]);
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.service.economy;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+class JournaledBalanceCacheTest {
+
+    private static final int THREADS = 4;
+    private static final int ADDS = 500;
+
+    @TempDir
+    Path directory;
+
+    private final FakeBackend backend = new FakeBackend();
+
+    private JournaledBalanceCache cache() throws Exception {
+        return JournaledBalanceCache.builder().flushInterval(Duration.ofHours(1)).build(this.directory, this.backend);
+    }
+
+    private void concurrently(final Runnable adder, final Runnable other) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(JournaledBalanceCacheTest.THREADS + 1);
+        try {
+            final CountDownLatch done = new CountDownLatch(JournaledBalanceCacheTest.THREADS);
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < JournaledBalanceCacheTest.THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    try {
+                        for (int j = 0; j < JournaledBalanceCacheTest.ADDS; j++) {
+                            adder.run();
+                        }
+                    } finally {
+                        done.countDown();
+                    }
+                }));
+            }
+            futures.add(executor.submit(() -> {
+                while (done.getCount() > 0) {
+                    other.run();
+                }
+            }));
+            for (final Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testAddDuringInvalidateKeepsLoadedBalance() throws Exception {
+        this.backend.stored.put("alice/coins", new BigDecimal(100));
+        try (final JournaledBalanceCache cache = this.cache()) {
+            this.concurrently(() -> cache.add("alice", "coins", BigDecimal.ONE, false), () -> {
+                cache.invalidate("alice");
+                cache.flush().join();
+            });
+            final BigDecimal expected = new BigDecimal(100 + JournaledBalanceCacheTest.THREADS * JournaledBalanceCacheTest.ADDS);
+            Assertions.assertEquals(expected, cache.balance("alice", "coins"));
+            cache.flush().join();
+            Assertions.assertEquals(expected, this.backend.stored.get("alice/coins"));
+        }
+    }
+
+    @Test
+    void testAddDuringFlushStoresEveryModification() throws Exception {
+        try (final JournaledBalanceCache cache = this.cache()) {
+            this.concurrently(() -> cache.add("bob", "coins", BigDecimal.ONE, false), () -> cache.flush().join());
+        }
+        Assertions.assertEquals(new BigDecimal(JournaledBalanceCacheTest.THREADS * JournaledBalanceCacheTest.ADDS),
+                this.backend.stored.get("bob/coins"));
+    }
+
+    @Test
+    void testAsyncAddLoadsBalance() throws Exception {
+        this.backend.stored.put("carol/coins", BigDecimal.TEN);
+        try (final JournaledBalanceCache cache = this.cache()) {
+            Assertions.assertEquals(Optional.empty(), cache.addAsync("carol", "coins", new BigDecimal(-11), false).join());
+            Assertions.assertEquals(Optional.of(BigDecimal.ONE), cache.addAsync("carol", "coins", new BigDecimal(-9), false).join());
+            Assertions.assertEquals(BigDecimal.ONE, cache.balanceAsync("carol", "coins").join());
+        }
+    }
+
+    @Test
+    void testCloseStoresBalancesAndRejectsModifications() throws Exception {
+        final JournaledBalanceCache cache = this.cache();
+        cache.set("dave", "coins", BigDecimal.TEN);
+        cache.close();
+
+        Assertions.assertEquals(BigDecimal.TEN, this.backend.stored.get("dave/coins"));
+        Assertions.assertThrows(IllegalStateException.class, () -> cache.set("dave", "coins", BigDecimal.ONE));
+    }
+
+    @Test
+    void testJournalIsReplayed() throws Exception {
+        final JournaledBalanceCache cache = this.cache();
+        cache.set("erin", "coins", BigDecimal.TEN);
+        // Simulates a crash, by failing to store the balances when closing
+        this.backend.failing = true;
+        Assertions.assertThrows(Exception.class, cache::close);
+        this.backend.failing = false;
+
+        this.cache().close();
+        Assertions.assertEquals(BigDecimal.TEN, this.backend.stored.get("erin/coins"));
+    }
+
+    @Test
+    void testFailedSegmentRotationKeepsJournaling() throws Exception {
+        try (final JournaledBalanceCache cache = this.cache()) {
+            cache.set("frank", "coins", BigDecimal.TEN);
+            // The next journal segment cannot be opened while a directory occupies its path
+            final Path next = Files.createDirectory(this.directory.resolve("balances-2.journal"));
+            Assertions.assertThrows(CompletionException.class, () -> cache.flush().join());
+            Assertions.assertNull(this.backend.stored.get("frank/coins"));
+
+            cache.set("frank", "gems", BigDecimal.ONE);
+            Files.delete(next);
+            cache.flush().join();
+            Assertions.assertEquals(BigDecimal.TEN, this.backend.stored.get("frank/coins"));
+            Assertions.assertEquals(BigDecimal.ONE, this.backend.stored.get("frank/gems"));
+        }
+    }
+
+    private static final class FakeBackend implements JournaledBalanceCache.Backend {
+
+        final Map<String, BigDecimal> stored = new ConcurrentHashMap<>();
+        volatile boolean failing;
+
+        @Override
+        public Map<String, BigDecimal> load(final String account) {
+            final Map<String, BigDecimal> balances = new ConcurrentHashMap<>();
+            this.stored.forEach((key, amount) -> {
+                if (key.startsWith(account + "/")) {
+                    balances.put(key.substring(account.length() + 1), amount);
+                }
+            });
+            return balances;
+        }
+
+        @Override
+        public void store(final Collection<JournaledBalanceCache.Balance> balances) throws IOException {
+            if (this.failing) {
+                throw new IOException("Failed to store balances");
+            }
+            for (final JournaledBalanceCache.Balance balance : balances) {
+                this.stored.put(balance.account() + "/" + balance.currency(), balance.amount());
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.service.permission;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.api.util.Tristate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+class CompiledNodeTreeTest {
+
+    @Test
+    void testGet() {
+        final Map<String, Boolean> values = new HashMap<>();
+        values.put("sponge.command", true);
+        values.put("sponge.command.stop", false);
+        values.put("Plugin.Feature", true);
+        final CompiledNodeTree tree = CompiledNodeTree.of(values, Tristate.UNDEFINED);
+
+        Assertions.assertEquals(Tristate.UNDEFINED, tree.get("sponge"));
+        Assertions.assertEquals(Tristate.TRUE, tree.get("sponge.command"));
+        Assertions.assertEquals(Tristate.TRUE, tree.get("sponge.command.help"));
+        Assertions.assertEquals(Tristate.FALSE, tree.get("sponge.command.stop"));
+        Assertions.assertEquals(Tristate.FALSE, tree.get("sponge.command.stop.now"));
+        Assertions.assertEquals(Tristate.TRUE, tree.get("plugin.feature"));
+        Assertions.assertEquals(Tristate.TRUE, tree.get("PLUGIN.FEATURE.sub"));
+        Assertions.assertEquals(Tristate.UNDEFINED, tree.get("unknown.node"));
+        Assertions.assertEquals(Tristate.FALSE, tree.withRootValue(Tristate.FALSE).get("unknown.node"));
+    }
+
+    @Test
+    void testWithValueSharesUnchangedTree() {
+        final CompiledNodeTree tree = CompiledNodeTree.empty().withValue("a.b", Tristate.TRUE);
+        final CompiledNodeTree modified = tree.withValue("a.c", Tristate.FALSE);
+
+        Assertions.assertSame(tree, tree.withValue("a.b", Tristate.TRUE));
+        Assertions.assertSame(tree, tree.withValue("x.y", Tristate.UNDEFINED));
+        Assertions.assertEquals(Tristate.UNDEFINED, tree.get("a.c"));
+        Assertions.assertEquals(Tristate.FALSE, modified.get("a.c"));
+        Assertions.assertEquals(Tristate.TRUE, modified.get("a.b"));
+    }
+
+    @Test
+    void testRemovePrunesEmptyNodes() {
+        final CompiledNodeTree tree = CompiledNodeTree.empty()
+                .withValue("a.b.c", Tristate.TRUE)
+                .withValue("a.b.c", Tristate.UNDEFINED);
+
+        Assertions.assertEquals(CompiledNodeTree.empty(), tree);
+        Assertions.assertTrue(tree.asMap().isEmpty());
+    }
+
+    @Test
+    void testRemovedSegmentsDoNotAffectLookups() {
+        CompiledNodeTree tree = CompiledNodeTree.empty().withValue("keep.node", Tristate.TRUE);
+        for (int i = 0; i < 2000; i++) {
+            tree = tree.withValue("temp.n" + i, Tristate.FALSE).withValue("temp.n" + i, Tristate.UNDEFINED);
+        }
+
+        Assertions.assertEquals(Map.of("keep.node", true), tree.asMap());
+        Assertions.assertEquals(Tristate.TRUE, tree.get("keep.node.sub"));
+        Assertions.assertEquals(Tristate.UNDEFINED, tree.get("temp.n1999"));
+        Assertions.assertEquals(Tristate.FALSE, tree.withValue("temp.n0", Tristate.FALSE).get("temp.n0"));
+    }
+
+    @Test
+    void testMatchesMap() {
+        final Random random = new Random(42);
+        final Map<String, Boolean> expected = new HashMap<>();
+        CompiledNodeTree tree = CompiledNodeTree.empty();
+        for (int i = 0; i < 2000; i++) {
+            final String node = "n" + random.nextInt(8) + ".n" + random.nextInt(8) + ".n" + random.nextInt(8);
+            final Tristate value = Tristate.values()[random.nextInt(3)];
+            tree = tree.withValue(node, value);
+            if (value == Tristate.UNDEFINED) {
+                expected.remove(node);
+            } else {
+                expected.put(node, value.asBoolean());
+            }
+        }
+        Assertions.assertEquals(expected, tree.asMap());
+        Assertions.assertEquals(tree, CompiledNodeTree.of(expected, Tristate.UNDEFINED));
+        for (final Map.Entry<String, Boolean> entry : expected.entrySet()) {
+            Assertions.assertEquals(Tristate.fromBoolean(entry.getValue()), tree.get(entry.getKey()));
+        }
+    }
+}
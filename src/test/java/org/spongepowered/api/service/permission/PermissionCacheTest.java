@@ -0,0 +1,142 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.service.permission;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.spongepowered.api.util.Tristate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class PermissionCacheTest {
+
+    private final Map<String, Subject> subjects = new HashMap<>();
+    private final Map<String, List<String>> parents = new HashMap<>();
+    private final Map<String, Tristate> values = new HashMap<>();
+    private final List<String> resolved = new ArrayList<>();
+
+    private Subject subject(final String identifier) {
+        return this.subjects.computeIfAbsent(identifier, id -> {
+            final SubjectReference reference = Mockito.mock(SubjectReference.class);
+            Mockito.when(reference.collectionIdentifier()).thenReturn("test");
+            Mockito.when(reference.subjectIdentifier()).thenReturn(id);
+            final Subject subject = Mockito.mock(Subject.class);
+            Mockito.when(subject.asSubjectReference()).thenReturn(reference);
+            return subject;
+        });
+    }
+
+    private PermissionCache cache(final PermissionCache.Builder builder) {
+        final PermissionCache[] cache = new PermissionCache[1];
+        cache[0] = builder.build((subject, contexts, permission) -> {
+            final String identifier = subject.asSubjectReference().subjectIdentifier();
+            this.resolved.add(identifier);
+            final Tristate value = this.values.getOrDefault(identifier, Tristate.UNDEFINED);
+            if (value != Tristate.UNDEFINED) {
+                return value;
+            }
+            for (final String parent : this.parents.getOrDefault(identifier, List.of())) {
+                final Tristate inherited = cache[0].permissionValue(this.subject(parent), contexts, permission);
+                if (inherited != Tristate.UNDEFINED) {
+                    return inherited;
+                }
+            }
+            return Tristate.UNDEFINED;
+        });
+        return cache[0];
+    }
+
+    @Test
+    void testInvalidationCascadesToDependents() {
+        this.parents.put("user", List.of("group"));
+        this.parents.put("group", List.of("default"));
+        this.values.put("default", Tristate.TRUE);
+        this.values.put("other", Tristate.FALSE);
+        final PermissionCache cache = this.cache(PermissionCache.builder());
+
+        Assertions.assertEquals(Tristate.TRUE, cache.permissionValue(this.subject("user"), Set.of(), "perm"));
+        Assertions.assertEquals(Tristate.FALSE, cache.permissionValue(this.subject("other"), Set.of(), "perm"));
+        Assertions.assertEquals(List.of("user", "group", "default", "other"), this.resolved);
+
+        this.values.put("default", Tristate.FALSE);
+        cache.invalidate(this.subject("default").asSubjectReference());
+        this.resolved.clear();
+
+        Assertions.assertEquals(Tristate.FALSE, cache.permissionValue(this.subject("other"), Set.of(), "perm"));
+        Assertions.assertEquals(Tristate.FALSE, cache.permissionValue(this.subject("user"), Set.of(), "perm"));
+        Assertions.assertEquals(List.of("user", "group", "default"), this.resolved);
+        Assertions.assertEquals(3, cache.statistics().invalidationCount());
+    }
+
+    @Test
+    void testInvalidationDoesNotCascadeToParents() {
+        this.parents.put("user", List.of("group"));
+        this.values.put("group", Tristate.TRUE);
+        final PermissionCache cache = this.cache(PermissionCache.builder());
+
+        cache.permissionValue(this.subject("user"), Set.of(), "perm");
+        cache.invalidate(this.subject("user").asSubjectReference());
+        this.resolved.clear();
+
+        Assertions.assertEquals(Tristate.TRUE, cache.permissionValue(this.subject("user"), Set.of(), "perm"));
+        Assertions.assertEquals(List.of("user"), this.resolved);
+    }
+
+    @Test
+    void testEvictionKeepsCacheBounded() {
+        final PermissionCache cache = this.cache(PermissionCache.builder().maximumSubjects(4));
+
+        for (int i = 0; i < 100; i++) {
+            cache.permissionValue(this.subject("user" + i), Set.of(), "perm");
+        }
+        Assertions.assertEquals(96, cache.statistics().evictionCount());
+
+        this.resolved.clear();
+        cache.permissionValue(this.subject("user99"), Set.of(), "perm");
+        Assertions.assertTrue(this.resolved.isEmpty());
+    }
+
+    @Test
+    void testMaximumResolveTime() {
+        final long[] time = {0};
+        final PermissionCache cache = PermissionCache.builder().ticker(() -> time[0]).build((subject, contexts, permission) -> {
+            time[0] += subject.asSubjectReference().subjectIdentifier().equals("slow") ? 500 : 10;
+            return Tristate.TRUE;
+        });
+
+        cache.permissionValue(this.subject("fast"), Set.of(), "perm");
+        cache.permissionValue(this.subject("slow"), Set.of(), "perm");
+        cache.permissionValue(this.subject("fast"), Set.of(), "other");
+
+        final PermissionCache.Statistics statistics = cache.statistics();
+        Assertions.assertEquals(500, statistics.maximumResolveTime());
+        Assertions.assertEquals(520 / 3.0, statistics.averageResolveTime());
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.util.blockray;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.spongepowered.api.world.Locatable;
+import org.spongepowered.math.vector.Vector3d;
+
+import java.util.Optional;
+
+class RayTraceResultsTest {
+
+    @Test
+    void testBuilderLayout() {
+        final Locatable first = Mockito.mock(Locatable.class);
+        final Locatable third = Mockito.mock(Locatable.class);
+        final RayTraceResults<Locatable> results = RayTraceResults.<Locatable>builder(3)
+            .set(0, first, 1, 2, 3)
+            .set(2, third, 4, 5, 6)
+            .build();
+
+        Assertions.assertEquals(3, results.size());
+        Assertions.assertEquals(2, results.hitCount());
+        Assertions.assertTrue(results.isHit(0));
+        Assertions.assertFalse(results.isHit(1));
+        Assertions.assertEquals(Optional.of(first), results.selected(0));
+        Assertions.assertEquals(Optional.empty(), results.selected(1));
+        Assertions.assertEquals(Optional.of(third), results.selected(2));
+        Assertions.assertEquals(Optional.of(new Vector3d(4, 5, 6)), results.hitPosition(2));
+        Assertions.assertEquals(1, results.hitX(0));
+        Assertions.assertEquals(2, results.hitY(0));
+        Assertions.assertEquals(3, results.hitZ(0));
+        Assertions.assertTrue(Double.isNaN(results.hitX(1)));
+        Assertions.assertTrue(Double.isNaN(results.hitY(1)));
+        Assertions.assertTrue(Double.isNaN(results.hitZ(1)));
+        Assertions.assertEquals(Optional.empty(), results.hitPosition(1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> results.hitX(3));
+    }
+
+    @Test
+    void testBuildSealsBuilder() {
+        final RayTraceResults.Builder<Locatable> builder = RayTraceResults.builder(1);
+        final RayTraceResults<Locatable> results = builder.build();
+
+        Assertions.assertThrows(IllegalStateException.class, () -> builder.set(0, Mockito.mock(Locatable.class), 0, 0, 0));
+        Assertions.assertThrows(IllegalStateException.class, builder::build);
+        Assertions.assertFalse(results.isHit(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RayTraceResults.builder(-1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testExecuteAllTracesOnCopy() {
+        final Locatable selected = Mockito.mock(Locatable.class);
+        final Vector3d[] source = new Vector3d[1];
+        final Vector3d[] direction = new Vector3d[1];
+        final RayTrace<Locatable> copy = Mockito.mock(RayTrace.class);
+        Mockito.when(copy.sourcePosition(Mockito.any(Vector3d.class))).thenAnswer(invocation -> {
+            source[0] = invocation.getArgument(0);
+            return copy;
+        });
+        Mockito.when(copy.direction(Mockito.any(Vector3d.class))).thenAnswer(invocation -> {
+            direction[0] = invocation.getArgument(0);
+            return copy;
+        });
+        // Rays pointing along positive x hit one block further along
+        Mockito.when(copy.execute()).thenAnswer(invocation -> {
+            if (direction[0].x() <= 0) {
+                return Optional.empty();
+            }
+            final Vector3d hit = source[0].add(direction[0]);
+            return Optional.of(new RayTraceResult<Locatable>() {
+                @Override
+                public Locatable selectedObject() {
+                    return selected;
+                }
+
+                @Override
+                public Vector3d hitPosition() {
+                    return hit;
+                }
+            });
+        });
+        final RayTrace<Locatable> rayTrace = Mockito.mock(RayTrace.class);
+        Mockito.when(rayTrace.copy()).thenReturn(copy);
+        Mockito.when(rayTrace.executeAll(Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenCallRealMethod();
+
+        final RayTraceResults<Locatable> results = rayTrace.executeAll(
+            new double[] {0, 0, 0, 10, 20, 30, 5, 5, 5},
+            new double[] {1, 0, 0, -1, 0, 0, 1, 0, 0},
+            true);
+
+        Assertions.assertEquals(3, results.size());
+        Assertions.assertEquals(Optional.of(new Vector3d(1, 0, 0)), results.hitPosition(0));
+        Assertions.assertFalse(results.isHit(1));
+        Assertions.assertEquals(Optional.of(selected), results.selected(2));
+        Assertions.assertEquals(Optional.of(new Vector3d(6, 5, 5)), results.hitPosition(2));
+        Mockito.verify(rayTrace, Mockito.never()).sourcePosition(Mockito.any(Vector3d.class));
+        Mockito.verify(rayTrace, Mockito.never()).direction(Mockito.any(Vector3d.class));
+        Mockito.verify(rayTrace, Mockito.never()).execute();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testExecuteAllRejectsMismatchedArrays() {
+        final RayTrace<Locatable> rayTrace = Mockito.mock(RayTrace.class);
+        Mockito.when(rayTrace.executeAll(Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenCallRealMethod();
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> rayTrace.executeAll(new double[] {0, 0}, new double[] {0, 0}, false));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> rayTrace.executeAll(new double[3], new double[6], false));
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.world.volume;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.api.world.volume.block.BlockSection;
+
+class PackedIndexArrayTest {
+
+    @Test
+    void testBitsFor() {
+        Assertions.assertEquals(1, PackedIndexArray.bitsFor(0));
+        Assertions.assertEquals(1, PackedIndexArray.bitsFor(1));
+        Assertions.assertEquals(2, PackedIndexArray.bitsFor(2));
+        Assertions.assertEquals(4, PackedIndexArray.bitsFor(15));
+        Assertions.assertEquals(5, PackedIndexArray.bitsFor(16));
+        Assertions.assertEquals(31, PackedIndexArray.bitsFor(Integer.MAX_VALUE));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> PackedIndexArray.bitsFor(-1));
+    }
+
+    @Test
+    void testGetAndSet() {
+        for (int bits = 1; bits <= PackedIndexArray.MAX_BITS; bits++) {
+            final PackedIndexArray array = new PackedIndexArray(bits, 100);
+            final long max = (1L << bits) - 1;
+            for (int i = 0; i < array.size(); i++) {
+                array.set(i, (int) (i % (max + 1)));
+            }
+            for (int i = 0; i < array.size(); i++) {
+                Assertions.assertEquals((int) (i % (max + 1)), array.get(i), "bits " + bits + ", index " + i);
+            }
+        }
+    }
+
+    @Test
+    void testSetRejectsOverflow() {
+        final PackedIndexArray array = new PackedIndexArray(4, 16);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> array.set(0, 16));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> array.set(16, 0));
+    }
+
+    @Test
+    void testResize() {
+        final PackedIndexArray array = new PackedIndexArray(2, 50);
+        for (int i = 0; i < array.size(); i++) {
+            array.set(i, i % 4);
+        }
+        final PackedIndexArray resized = array.resize(7);
+        Assertions.assertEquals(7, resized.bitsPerEntry());
+        for (int i = 0; i < array.size(); i++) {
+            Assertions.assertEquals(array.get(i), resized.get(i));
+        }
+        resized.set(0, 100);
+        Assertions.assertEquals(100, resized.get(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> resized.resize(2));
+    }
+
+    @Test
+    void testDataRoundTrip() {
+        final PackedIndexArray array = new PackedIndexArray(5, 33);
+        array.set(12, 17);
+        final PackedIndexArray copy = new PackedIndexArray(5, 33, array.data());
+        Assertions.assertEquals(array, copy);
+        Assertions.assertEquals(17, copy.get(12));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new PackedIndexArray(5, 33, new long[1]));
+    }
+
+    @Test
+    void testDataSizeInBytes() {
+        // Entries do not span longs, so a section needs 4096 / (64 / bits) longs
+        Assertions.assertEquals(512, new PackedIndexArray(1, BlockSection.VOLUME).dataSizeInBytes());
+        Assertions.assertEquals(2048, new PackedIndexArray(4, BlockSection.VOLUME).dataSizeInBytes());
+        Assertions.assertEquals(2736, new PackedIndexArray(5, BlockSection.VOLUME).dataSizeInBytes());
+        Assertions.assertEquals(4096, new PackedIndexArray(8, BlockSection.VOLUME).dataSizeInBytes());
+        Assertions.assertEquals(16384, new PackedIndexArray(32, BlockSection.VOLUME).dataSizeInBytes());
+    }
+
+    @Test
+    void testBytesPerBlockAgainstDenseStorage() {
+        // A dense section holds one int id or compressed reference per block
+        final double dense = Integer.BYTES;
+        Assertions.assertEquals(0.125, PackedIndexArrayTest.bytesPerBlock(1));
+        Assertions.assertEquals(0.5, PackedIndexArrayTest.bytesPerBlock(4));
+        Assertions.assertEquals(1.0, PackedIndexArrayTest.bytesPerBlock(8));
+        Assertions.assertEquals(2.0, PackedIndexArrayTest.bytesPerBlock(16));
+        for (int bits = 1; bits <= 21; bits++) {
+            Assertions.assertTrue(PackedIndexArrayTest.bytesPerBlock(bits) < dense, "bits " + bits);
+        }
+        // Beyond 21 bits only two entries fit a long, which is no smaller than dense storage
+        for (int bits = 22; bits <= PackedIndexArray.MAX_BITS; bits++) {
+            Assertions.assertEquals(dense, PackedIndexArrayTest.bytesPerBlock(bits), "bits " + bits);
+        }
+    }
+
+    @Test
+    void testSetRejectsNegative() {
+        for (final int bits : new int[] {1, 31, PackedIndexArray.MAX_BITS}) {
+            final PackedIndexArray array = new PackedIndexArray(bits, 4);
+            Assertions.assertThrows(IllegalArgumentException.class, () -> array.set(0, -1), "bits " + bits);
+            Assertions.assertThrows(IllegalArgumentException.class, () -> array.set(0, Integer.MIN_VALUE), "bits " + bits);
+        }
+    }
+
+    private static double bytesPerBlock(final int bits) {
+        return (double) new PackedIndexArray(bits, BlockSection.VOLUME).dataSizeInBytes() / BlockSection.VOLUME;
+    }
+
+}
@@ -0,0 +1,161 @@
+/*
+ * This file is part of SpongeAPI, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.api.world.volume.entity;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.spongepowered.api.Game;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.entity.Entity;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.registry.FactoryProvider;
+import org.spongepowered.api.util.AABB;
+import org.spongepowered.math.vector.Vector3d;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class EntityIndexTest {
+
+    private static final Vector3d CENTER = new Vector3d(3.25, 0, 0);
+
+    @BeforeAll
+    static void installGame() throws Exception {
+        // Bounding boxes are created through the factory of the platform
+        final FactoryProvider factories = Mockito.mock(FactoryProvider.class);
+        Mockito.when(factories.provide(AABB.Factory.class)).thenReturn((AABB.Factory) EntityIndexTest::box);
+        final Game game = Mockito.mock(Game.class);
+        Mockito.when(game.factoryProvider()).thenReturn(factories);
+        EntityIndexTest.setGame(game);
+    }
+
+    @AfterAll
+    static void removeGame() throws Exception {
+        EntityIndexTest.setGame(null);
+    }
+
+    private static void setGame(final @Nullable Game game) throws Exception {
+        final Field field = Sponge.class.getDeclaredField("game");
+        field.setAccessible(true);
+        field.set(null, game);
+    }
+
+    private static AABB box(final Vector3d min, final Vector3d max) {
+        final AABB box = Mockito.mock(AABB.class, Mockito.CALLS_REAL_METHODS);
+        Mockito.doReturn(min).when(box).min();
+        Mockito.doReturn(max).when(box).max();
+        Mockito.doAnswer(invocation -> {
+            final double x = invocation.getArgument(0);
+            final double y = invocation.getArgument(1);
+            final double z = invocation.getArgument(2);
+            return x >= min.x() && x <= max.x() && y >= min.y() && y <= max.y() && z >= min.z() && z <= max.z();
+        }).when(box).contains(Mockito.anyDouble(), Mockito.anyDouble(), Mockito.anyDouble());
+        return box;
+    }
+
+    private static <E extends Entity> E entity(final Class<E> type, final double x) {
+        final E entity = Mockito.mock(type);
+        Mockito.when(entity.position()).thenReturn(new Vector3d(x, 0, 0));
+        return entity;
+    }
+
+    /**
+     * Creates entities at x = 0 to 9.
+     */
+    private static List<Entity> line() {
+        final List<Entity> entities = new ArrayList<>();
+        for (int x = 0; x < 10; x++) {
+            entities.add(EntityIndexTest.entity(Entity.class, x));
+        }
+        return entities;
+    }
+
+    private static List<Double> positions(final Collection<? extends Entity> entities) {
+        final List<Double> positions = new ArrayList<>();
+        entities.forEach(entity -> positions.add(entity.position().x()));
+        return positions;
+    }
+
+    @Test
+    void testNearestIsOrderedAndBounded() {
+        final EntityIndex<Entity> index = EntityIndex.scanning(EntityIndexTest::line);
+
+        Assertions.assertEquals(List.of(3.0, 4.0, 2.0), EntityIndexTest.positions(index.nearest(EntityIndexTest.CENTER, 3, -1, null)));
+        Assertions.assertEquals(List.of(3.0, 4.0, 2.0, 5.0, 1.0, 6.0, 0.0, 7.0, 8.0, 9.0),
+            EntityIndexTest.positions(index.nearest(EntityIndexTest.CENTER, 100, -1, null)));
+        Assertions.assertEquals(List.of(3.0), EntityIndexTest.positions(index.nearest(EntityIndexTest.CENTER, 3, 0.5, null)));
+        Assertions.assertEquals(List.of(4.0, 2.0),
+            EntityIndexTest.positions(index.nearest(EntityIndexTest.CENTER, 2, -1, entity -> entity.position().x() % 2 == 0)));
+        Assertions.assertEquals(Optional.of(3.0), index.nearest(EntityIndexTest.CENTER, 0.5, null).map(entity -> entity.position().x()));
+        Assertions.assertEquals(Optional.empty(), index.nearest(EntityIndexTest.CENTER, 0.1, null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> index.nearest(EntityIndexTest.CENTER, 0, -1, null));
+    }
+
+    @Test
+    void testBoxQueryAnswersBoundedQueries() {
+        final List<Entity> entities = EntityIndexTest.line();
+        final AtomicInteger scans = new AtomicInteger();
+        final List<AABB> boxes = new ArrayList<>();
+        final EntityIndex<Entity> index = EntityIndex.of(() -> {
+            scans.incrementAndGet();
+            return entities;
+        }, (box, filter) -> {
+            boxes.add(box);
+            return entities.stream().filter(filter).toList();
+        });
+
+        Assertions.assertEquals(List.of(1.0, 2.0, 3.0),
+            EntityIndexTest.positions(index.within(EntityIndexTest.box(new Vector3d(1, -1, -1), new Vector3d(3, 1, 1)), null)));
+        Assertions.assertEquals(List.of(3.0, 4.0), EntityIndexTest.positions(index.nearest(EntityIndexTest.CENTER, 2, 1.5, null)));
+        Assertions.assertEquals(List.of(2.0, 3.0, 4.0), EntityIndexTest.positions(index.within(EntityIndexTest.CENTER, 1.5, null)));
+        Assertions.assertEquals(3, boxes.size());
+        Assertions.assertEquals(new Vector3d(1.75, -1.5, -1.5), boxes.get(1).min());
+        Assertions.assertEquals(new Vector3d(4.75, 1.5, 1.5), boxes.get(1).max());
+        Assertions.assertEquals(0, scans.get());
+
+        Assertions.assertEquals(List.of(3.0), EntityIndexTest.positions(index.nearest(EntityIndexTest.CENTER, 1, -1, null)));
+        Assertions.assertEquals(1, scans.get());
+    }
+
+    @Test
+    void testNearestPlayerComparesDistances() {
+        final Player near = EntityIndexTest.entity(Player.class, 3);
+        final Player far = EntityIndexTest.entity(Player.class, 100);
+        final EntityVolume volume = Mockito.mock(EntityVolume.class, Mockito.CALLS_REAL_METHODS);
+        Mockito.doReturn(List.of(far, near)).when(volume).players();
+
+        Assertions.assertEquals(Optional.of(near), volume.nearestPlayer(0, 0, 0, 5, null));
+        Assertions.assertEquals(Optional.empty(), volume.nearestPlayer(0, 0, 0, 2, null));
+        Assertions.assertEquals(Optional.of(far), volume.nearestPlayer(0, 0, 0, -1, player -> player == far));
+    }
+}